@@ -16,10 +16,14 @@ public record Devise(String nom, int valeurEnAriary, LocalDate t, double tauxDap
   public static final Devise CAD = new Devise("CAD", 3286, LocalDate.of(2024, JULY, 8), -0.1);
 
   public double valeurEnAriary(LocalDate t) {
+    return valeurEnAriary(t, now());
+  }
+
+  public double valeurEnAriary(LocalDate t, LocalDate aujourdhui) {
     if (this.equals(NON_NOMMEE)) {
       return 1;
     }
-    var joursEcoules = DAYS.between(t, now());
+    var joursEcoules = DAYS.between(t, aujourdhui);
     double valeurAjouteeJournaliere = valeurEnAriary * (tauxDappréciationAnnuel / 365.);
     return max(0, (int) (valeurEnAriary + valeurAjouteeJournaliere * joursEcoules));
   }
@@ -1,22 +1,29 @@
 package school.hei.patrimoine.modele;
 
 import static java.util.Comparator.comparing;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toUnmodifiableMap;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import school.hei.patrimoine.modele.possession.Argent;
-import school.hei.patrimoine.modele.possession.Dette;
-import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.change.TauxDeChange;
+import school.hei.patrimoine.modele.change.TauxJournaliers;
+import school.hei.patrimoine.modele.evolution.Evaluateur;
+import school.hei.patrimoine.modele.evolution.Resolution;
+import school.hei.patrimoine.modele.evolution.SeriesAgregees;
+import school.hei.patrimoine.modele.evolution.SeriesJournalieres;
+import school.hei.patrimoine.modele.evolution.SimulateurJournalier;
 import school.hei.patrimoine.modele.possession.Possession;
 
 @Getter
@@ -26,91 +33,117 @@ public class EvolutionPatrimoine {
   private final Patrimoine patrimoine;
   private final LocalDate debut;
   private final LocalDate fin;
-  private final Map<LocalDate, Patrimoine> evolutionJournaliere;
-  private final Set<FluxImpossibles> fluxImpossibles;
+  private final Evaluateur evaluateur;
+
+  @Getter(lazy = true)
+  private final SeriesJournalieres series = evaluateur.evalue(patrimoine, debut, fin);
+
+  @Getter(lazy = true)
+  private final Set<FluxImpossibles> fluxImpossibles = fluxImpossibles();
+
+  // lu par serieValeursComptablesPatrimoine : jamais rendu tel quel
+  @Getter(value = AccessLevel.PRIVATE, lazy = true)
+  private final Map<Devise, int[]> sousTotaux = sousTotauxParDevise();
+
+  @Getter(AccessLevel.NONE)
+  private final Map<Resolution, SeriesAgregees> seriesAgregees = new ConcurrentHashMap<>();
 
   public EvolutionPatrimoine(String nom, Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    this(nom, patrimoine, debut, fin, Evaluateur.SEQUENTIEL);
+  }
+
+  public EvolutionPatrimoine(
+      String nom, Patrimoine patrimoine, LocalDate debut, LocalDate fin, Evaluateur evaluateur) {
     this.nom = nom;
     this.patrimoine = patrimoine;
     this.debut = debut;
     this.fin = fin;
-    this.evolutionJournaliere = evolutionJournaliere();
-    this.fluxImpossibles = fluxImpossibles();
-    log.info("FLUX IMPOSSIBLES: {} --> {}\n{}\n\n", debut, fin, fluxImpossiblesStr());
+    this.evaluateur = evaluateur;
   }
 
   private Set<FluxImpossibles> fluxImpossibles() {
-    var res = new HashSet<FluxImpossibles>();
-    evolutionJournaliere.forEach(
-        (date, patrimoine) ->
-            patrimoine
-                .possessions()
-                .forEach(
-                    p -> {
-                      if (p instanceof Argent argent
-                          && !(p instanceof Dette)
-                          && p.getValeurComptable() < 0) {
-                        var fluxImpossibles =
-                            argent.getFluxArgents().stream()
-                                .filter(f -> f.getDateOperation() == date.getDayOfMonth())
-                                .filter(
-                                    f -> f.getDebut().isBefore(date) || f.getDebut().isEqual(date))
-                                .filter(f -> f.getFin().isAfter(date) || f.getFin().isEqual(date))
-                                .collect(toSet());
-                        if (!fluxImpossibles.isEmpty()) {
-                          res.add(
-                              new FluxImpossibles(
-                                  date,
-                                  argent.getNom(),
-                                  argent.getValeurComptable(),
-                                  fluxImpossibles));
-                        }
-                      }
-                    }));
+    var res = getSeries().getFluxImpossibles();
+    log.info("FLUX IMPOSSIBLES: {} --> {}\n{}\n\n", debut, fin, fluxImpossiblesStr(res));
     return res;
   }
 
   public String fluxImpossiblesStr() {
+    return fluxImpossiblesStr(getFluxImpossibles());
+  }
+
+  private static String fluxImpossiblesStr(Set<FluxImpossibles> fluxImpossibles) {
     return fluxImpossibles.stream()
         .sorted(comparing(FluxImpossibles::date))
         .map(FluxImpossibles::toString)
         .collect(joining("\n\n"));
   }
 
-  private Map<LocalDate, Patrimoine> evolutionJournaliere() {
-    Map<LocalDate, Patrimoine> evolutionJournaliere = new HashMap<>();
-    dates().forEach(date -> evolutionJournaliere.put(date, patrimoine.projectionFuture(date)));
-    return evolutionJournaliere;
+  public Stream<Patrimoine> projectionsJournalieres() {
+    return SimulateurJournalier.projections(patrimoine, debut, fin);
+  }
+
+  public Map<LocalDate, Patrimoine> getEvolutionJournaliere() {
+    return projectionsJournalieres().collect(toMap(Patrimoine::t, identity()));
   }
 
   public Map<Possession, List<Integer>> serieValeursComptablesParPossession() {
     var map = new HashMap<Possession, List<Integer>>();
-
-    for (var possession : patrimoine.possessions()) {
-      if (possession instanceof FluxArgent) {
-        continue; // valeur comptable toujours 0
-      }
-      var serie = new ArrayList<Integer>();
-
-      dates()
-          .forEach(
-              d ->
-                  serie.add(
-                      evolutionJournaliere
-                          .get(d)
-                          .possessionParNom(possession.getNom())
-                          .getValeurComptable()));
-      map.put(possession, serie);
+    var series = getSeries();
+    var possessions = series.getPossessions();
+    for (int i = 0; i < possessions.size(); i++) {
+      map.put(possessions.get(i), enListe(series.serie(i)));
     }
     return map;
   }
 
   public List<Integer> serieValeursComptablesPatrimoine() {
-    var serie = new ArrayList<Integer>();
-    dates().forEach(d -> serie.add(evolutionJournaliere.get(d).getValeurComptable()));
+    return enListe(getSeries().totaux());
+  }
+
+  private Map<Devise, int[]> sousTotauxParDevise() {
+    var sousTotauxParDevise = new HashMap<Devise, int[]>();
+    var series = getSeries();
+    var possessions = series.getPossessions();
+    for (int i = 0; i < possessions.size(); i++) {
+      var sousTotaux =
+          sousTotauxParDevise.computeIfAbsent(
+              possessions.get(i).getDevise(), d -> new int[series.getNbJours()]);
+      for (int jour = 0; jour < sousTotaux.length; jour++) {
+        sousTotaux[jour] += series.valeur(i, jour);
+      }
+    }
+    return sousTotauxParDevise;
+  }
+
+  public Map<Devise, int[]> getSousTotauxParDevise() {
+    return getSousTotaux().entrySet().stream()
+        .collect(toUnmodifiableMap(Map.Entry::getKey, e -> e.getValue().clone()));
+  }
+
+  /* Convertit le sous-total de chaque devise plutôt que chaque possession :
+   * l'arrondi se fait donc par devise et par jour. */
+  public int[] serieValeursComptablesPatrimoine(Devise devise, TauxDeChange taux) {
+    var tauxJournaliers = new TauxJournaliers(taux, debut, fin);
+    var serie = new int[getSeries().getNbJours()];
+    getSousTotaux()
+        .forEach(
+            (deviseSource, sousTotaux) -> {
+              var conversion = tauxJournaliers.conversion(deviseSource, devise);
+              for (int jour = 0; jour < serie.length; jour++) {
+                serie[jour] += conversion.convertit(sousTotaux[jour], jour);
+              }
+            });
     return serie;
   }
 
+  public SeriesAgregees seriesAgregees(Resolution resolution) {
+    return seriesAgregees.computeIfAbsent(resolution, r -> SeriesAgregees.de(getSeries(), r));
+  }
+
+  private static List<Integer> enListe(int[] serie) {
+    return Arrays.stream(serie).boxed().toList();
+  }
+
   public Stream<LocalDate> dates() {
     return debut.datesUntil(fin.plusDays(1));
   }
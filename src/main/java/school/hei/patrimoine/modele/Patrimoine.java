@@ -1,12 +1,15 @@
 package school.hei.patrimoine.modele;
 
-import static java.util.stream.Collectors.toSet;
 import static school.hei.patrimoine.modele.Devise.NON_NOMMEE;
 
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
+import school.hei.patrimoine.modele.change.TauxDeChange;
+import school.hei.patrimoine.modele.possession.CacheProjections;
+import school.hei.patrimoine.modele.possession.CompteurOperations;
+import school.hei.patrimoine.modele.possession.FluxArgent;
 import school.hei.patrimoine.modele.possession.Possession;
 
 public record Patrimoine(String nom, Personne possesseur, LocalDate t, Set<Possession> possessions)
@@ -19,11 +22,14 @@ public record Patrimoine(String nom, Personne possesseur, LocalDate t, Set<Posse
   }
 
   private Set<Possession> validerPossessions(Set<Possession> possessions) {
+    if (possessions instanceof PossessionsIndexees indexees) {
+      return indexees; // validées par le patrimoine dont elles sont la projection
+    }
     List<Devise> distinct = possessions.stream().map(Possession::getDevise).distinct().toList();
     if (distinct.size() > 1 && distinct.contains(NON_NOMMEE)) {
       throw new IllegalArgumentException("On ne peut mixer Devise.NON_NOMMEE avec autres devises");
     }
-    return possessions;
+    return PossessionsIndexees.de(possessions);
   }
 
   public int getValeurComptable() {
@@ -31,18 +37,34 @@ public record Patrimoine(String nom, Personne possesseur, LocalDate t, Set<Posse
   }
 
   public int getValeurComptable(Devise devise) {
-    return possessions.stream().mapToInt(p -> p.getValeurComptable(devise, t)).sum();
+    return getValeurComptable(devise, TauxDeChange.COURANTS);
+  }
+
+  public int getValeurComptable(Devise devise, TauxDeChange taux) {
+    return possessions.stream().mapToInt(p -> p.getValeurComptable(devise, t, taux)).sum();
   }
 
   public Patrimoine projectionFuture(LocalDate tFutur) {
+    return projectionFuture(tFutur, FluxArgent::nbOperations);
+  }
+
+  public Patrimoine projectionFuture(LocalDate tFutur, CompteurOperations compteur) {
+    return new Patrimoine(
+        nom,
+        possesseur,
+        tFutur,
+        ((PossessionsIndexees) possessions).projete(p -> p.projectionFuture(tFutur, compteur)));
+  }
+
+  public Patrimoine projectionFuture(LocalDate tFutur, CacheProjections cache) {
     return new Patrimoine(
         nom,
         possesseur,
         tFutur,
-        possessions.stream().map(p -> p.projectionFuture(tFutur)).collect(toSet()));
+        ((PossessionsIndexees) possessions).projete(p -> cache.projectionFuture(p, tFutur)));
   }
 
   public Possession possessionParNom(String nom) {
-    return possessions.stream().filter(p -> nom.equals(p.getNom())).findFirst().orElseThrow();
+    return ((PossessionsIndexees) possessions).parNom(nom);
   }
 }
@@ -0,0 +1,117 @@
+package school.hei.patrimoine.modele;
+
+import static java.util.stream.Collectors.toSet;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import school.hei.patrimoine.modele.possession.Possession;
+
+/* Ensemble immuable des possessions d'un patrimoine, indexé par nom à la première recherche.
+ * Toute projection garde le nom de la possession projetée : les projections d'un patrimoine
+ * gardent donc les rangs de leur source et partagent son index au lieu de le reconstruire.
+ * Une possession que sa projection laisse inchangée est reprise telle quelle, et l'ensemble
+ * lui-même quand aucune ne change. */
+final class PossessionsIndexees extends AbstractSet<Possession> implements Serializable {
+  private final Possession[] possessions;
+  private final transient IndexNoms index;
+  private transient volatile Set<Possession> ensemble;
+
+  private PossessionsIndexees(Possession[] possessions, IndexNoms index) {
+    this.possessions = possessions;
+    this.index = index;
+  }
+
+  static PossessionsIndexees de(Set<Possession> possessions) {
+    if (possessions instanceof PossessionsIndexees indexees) {
+      return indexees;
+    }
+    return new PossessionsIndexees(possessions.toArray(Possession[]::new), new IndexNoms());
+  }
+
+  PossessionsIndexees projete(UnaryOperator<Possession> projection) {
+    if (!index.construit(possessions).nomsEnDouble.isEmpty()) {
+      // deux possessions de même nom peuvent devenir égales une fois projetées
+      return de(Arrays.stream(possessions).map(projection).collect(toSet()));
+    }
+    var projetees = new Possession[possessions.length];
+    var inchangees = true;
+    for (int rang = 0; rang < possessions.length; rang++) {
+      projetees[rang] = projection.apply(possessions[rang]);
+      inchangees &= projetees[rang] == possessions[rang];
+    }
+    return inchangees ? this : new PossessionsIndexees(projetees, index);
+  }
+
+  Possession parNom(String nom) {
+    var rangs = index.construit(possessions);
+    if (!rangs.nomsEnDouble.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Plusieurs possessions portent le même nom : " + rangs.nomsEnDouble);
+    }
+    var rang = rangs.rangParNom.get(nom);
+    if (rang == null) {
+      throw new NoSuchElementException("Aucune possession nommée " + nom);
+    }
+    return possessions[rang];
+  }
+
+  @Override
+  public Iterator<Possession> iterator() {
+    return Arrays.asList(possessions).iterator();
+  }
+
+  @Override
+  public int size() {
+    return possessions.length;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    var ensemble = this.ensemble;
+    if (ensemble == null) {
+      ensemble = new HashSet<>(Arrays.asList(possessions));
+      this.ensemble = ensemble;
+    }
+    return ensemble.contains(o);
+  }
+
+  private Object writeReplace() {
+    return new HashSet<>(this);
+  }
+
+  private static final class IndexNoms {
+    private volatile Rangs rangs;
+
+    private Rangs construit(Possession[] possessions) {
+      var rangs = this.rangs;
+      if (rangs == null) {
+        rangs = new Rangs(possessions);
+        this.rangs = rangs;
+      }
+      return rangs;
+    }
+  }
+
+  private static final class Rangs {
+    private final Map<String, Integer> rangParNom;
+    private final Set<String> nomsEnDouble = new LinkedHashSet<>();
+
+    private Rangs(Possession[] possessions) {
+      rangParNom = new HashMap<>();
+      for (int rang = 0; rang < possessions.length; rang++) {
+        if (rangParNom.putIfAbsent(possessions[rang].getNom(), rang) != null) {
+          nomsEnDouble.add(possessions[rang].getNom());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package school.hei.patrimoine.modele.change;
+
+public class ConversionJournaliere {
+  private final double[] tauxSource;
+  private final double[] tauxCible;
+  private final double[] facteurs;
+
+  ConversionJournaliere(double[] tauxSource, double[] tauxCible) {
+    this.tauxSource = tauxSource;
+    this.tauxCible = tauxCible;
+    this.facteurs = new double[tauxSource.length];
+    for (int jour = 0; jour < facteurs.length; jour++) {
+      facteurs[jour] = tauxSource[jour] / tauxCible[jour];
+    }
+  }
+
+  // même arrondi que Possession::getValeurComptable(Devise, LocalDate)
+  public int convertit(int valeur, int jour) {
+    return (int) ((valeur * tauxSource[jour]) / tauxCible[jour]);
+  }
+
+  public double facteur(int jour) {
+    return facteurs[jour];
+  }
+
+  public int nbJours() {
+    return facteurs.length;
+  }
+}
@@ -0,0 +1,32 @@
+package school.hei.patrimoine.modele.change;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import school.hei.patrimoine.modele.Devise;
+
+/* Historique de taux observés : à une date donnée vaut le dernier taux connu de la devise,
+ * et les taux par défaut avant la première observation ou pour les devises sans historique. */
+public class TableDeChange implements TauxDeChange {
+  private final Map<Devise, NavigableMap<LocalDate, Double>> historiques;
+  private final TauxDeChange parDefaut;
+
+  public TableDeChange(
+      Map<Devise, ? extends Map<LocalDate, Double>> historiques, TauxDeChange parDefaut) {
+    this.historiques = new HashMap<>();
+    historiques.forEach((devise, taux) -> this.historiques.put(devise, new TreeMap<>(taux)));
+    this.parDefaut = parDefaut;
+  }
+
+  @Override
+  public double valeurEnAriary(Devise devise, LocalDate t) {
+    var historique = historiques.get(devise);
+    var observation = historique == null ? null : historique.floorEntry(t);
+    if (observation == null) {
+      return parDefaut.valeurEnAriary(devise, t);
+    }
+    return observation.getValue();
+  }
+}
@@ -0,0 +1,14 @@
+package school.hei.patrimoine.modele.change;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import school.hei.patrimoine.modele.Devise;
+
+/* Taux déduits de l'appréciation annuelle de chaque devise, relativement au jour donné par
+ * l'horloge : une horloge fixe rend les conversions reproductibles d'une exécution à l'autre. */
+public record TauxCalcules(Clock horloge) implements TauxDeChange {
+  @Override
+  public double valeurEnAriary(Devise devise, LocalDate t) {
+    return devise.valeurEnAriary(t, LocalDate.now(horloge));
+  }
+}
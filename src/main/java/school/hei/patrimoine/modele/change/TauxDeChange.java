@@ -0,0 +1,12 @@
+package school.hei.patrimoine.modele.change;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import school.hei.patrimoine.modele.Devise;
+
+@FunctionalInterface
+public interface TauxDeChange {
+  TauxDeChange COURANTS = new TauxCalcules(Clock.systemDefaultZone());
+
+  double valeurEnAriary(Devise devise, LocalDate t);
+}
@@ -0,0 +1,57 @@
+package school.hei.patrimoine.modele.change;
+
+import static java.lang.Math.max;
+import static java.time.temporal.ChronoUnit.DAYS;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import school.hei.patrimoine.modele.Devise;
+
+/* Taux d'une période précalculés une fois par devise, indexés par le nombre de jours depuis debut :
+ * dans la période, une conversion n'est plus qu'une lecture de tableaux. */
+public class TauxJournaliers implements TauxDeChange {
+  private final TauxDeChange taux;
+  @Getter private final LocalDate debut;
+  @Getter private final int nbJours;
+  private final long debutEpochDay;
+  private final Map<Devise, double[]> tauxParDevise = new ConcurrentHashMap<>();
+  private final Map<Paire, ConversionJournaliere> conversions = new ConcurrentHashMap<>();
+
+  public TauxJournaliers(TauxDeChange taux, LocalDate debut, LocalDate fin) {
+    this.taux = taux;
+    this.debut = debut;
+    this.nbJours = (int) max(0, DAYS.between(debut, fin) + 1);
+    this.debutEpochDay = debut.toEpochDay();
+  }
+
+  @Override
+  public double valeurEnAriary(Devise devise, LocalDate t) {
+    var jour = t.toEpochDay() - debutEpochDay;
+    if (jour < 0 || jour >= nbJours) {
+      return taux.valeurEnAriary(devise, t);
+    }
+    return tauxJournaliers(devise)[(int) jour];
+  }
+
+  double[] tauxJournaliers(Devise devise) {
+    return tauxParDevise.computeIfAbsent(
+        devise,
+        d -> {
+          var tauxJournaliers = new double[nbJours];
+          for (int jour = 0; jour < nbJours; jour++) {
+            tauxJournaliers[jour] = taux.valeurEnAriary(d, debut.plusDays(jour));
+          }
+          return tauxJournaliers;
+        });
+  }
+
+  public ConversionJournaliere conversion(Devise source, Devise cible) {
+    return conversions.computeIfAbsent(
+        new Paire(source, cible),
+        p -> new ConversionJournaliere(tauxJournaliers(source), tauxJournaliers(cible)));
+  }
+
+  private record Paire(Devise source, Devise cible) {}
+}
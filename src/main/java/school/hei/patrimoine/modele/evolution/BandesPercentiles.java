@@ -0,0 +1,41 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.time.LocalDate;
+import lombok.Getter;
+
+/* Par jour, les valeurs du patrimoine en deçà desquelles tombent 5 %, 50 % et 95 % des tirages. */
+public class BandesPercentiles {
+  @Getter private final LocalDate debut;
+  @Getter private final int nbTirages;
+  private final int[] p5;
+  private final int[] p50;
+  private final int[] p95;
+
+  BandesPercentiles(LocalDate debut, int nbTirages, int[] p5, int[] p50, int[] p95) {
+    this.debut = debut;
+    this.nbTirages = nbTirages;
+    this.p5 = p5;
+    this.p50 = p50;
+    this.p95 = p95;
+  }
+
+  public int getNbJours() {
+    return p50.length;
+  }
+
+  public LocalDate date(int jour) {
+    return debut.plusDays(jour);
+  }
+
+  public int[] p5() {
+    return p5;
+  }
+
+  public int[] p50() {
+    return p50;
+  }
+
+  public int[] p95() {
+    return p95;
+  }
+}
@@ -0,0 +1,11 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.time.Duration;
+
+// nbResumesPerdus : patrimoines évalués dont le puits a refusé le résumé
+public record BilanLot(int nbEvalues, int nbEchecs, int nbResumesPerdus, Duration duree) {
+  public double patrimoinesParSeconde() {
+    var secondes = duree.toNanos() / 1e9;
+    return secondes == 0 ? 0 : (nbEvalues + nbEchecs + nbResumesPerdus) / secondes;
+  }
+}
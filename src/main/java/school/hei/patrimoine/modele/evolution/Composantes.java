@@ -0,0 +1,36 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import school.hei.patrimoine.modele.possession.AchatMaterielAuComptant;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Possession;
+import school.hei.patrimoine.modele.possession.TransfertArgent;
+
+final class Composantes {
+  private Composantes() {}
+
+  static void parcours(Possession possession, Consumer<Possession> visiteur) {
+    visiteur.accept(possession);
+    if (possession instanceof GroupePossession groupe) {
+      groupe.getPossessions().forEach(p -> parcours(p, visiteur));
+    } else if (possession instanceof AchatMaterielAuComptant achat) {
+      parcours(achat.getAchatCommeGroupe(), visiteur);
+    } else if (possession instanceof TransfertArgent transfert) {
+      parcours(transfert.getTransfertCommeGroupe(), visiteur);
+    }
+  }
+
+  static <T extends Possession> List<T> composantes(Possession possession, Class<T> type) {
+    var composantes = new ArrayList<T>();
+    parcours(
+        possession,
+        p -> {
+          if (type.isInstance(p)) {
+            composantes.add(type.cast(p));
+          }
+        });
+    return composantes;
+  }
+}
@@ -0,0 +1,93 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.util.Collections.synchronizedMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import school.hei.patrimoine.modele.FluxImpossibles;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.IntervallesFlux;
+import school.hei.patrimoine.modele.possession.Possession;
+
+/* Observe les soldes au fil de la simulation : un argent négatif un jour où certains de ses flux
+ * opèrent les rend impossibles. Les flux sont rangés par jour du mois, puis par fenêtre d'activité,
+ * pour ne pas tous les revoir. */
+class DetecteurFluxImpossibles {
+  private static final int JOURS_DU_MOIS = 31;
+
+  private final List<Possession> possessions;
+  private final Map<Integer, List<IntervallesFlux>> fluxParJourDuMois = new ConcurrentHashMap<>();
+  private final Set<FluxImpossibles> fluxImpossibles = ConcurrentHashMap.newKeySet();
+  // flux modifiés à côté du modèle, qui reste inchangé : l'index les prend à la place des anciens
+  private final Map<FluxArgent, FluxArgent> remplacements =
+      synchronizedMap(new IdentityHashMap<>());
+
+  DetecteurFluxImpossibles(List<Possession> possessions) {
+    this.possessions = possessions;
+  }
+
+  // indexé au premier solde négatif : la plupart des comptes n'en ont jamais
+  private List<IntervallesFlux> indexe(int possession) {
+    var fluxParJour = new ArrayList<List<FluxArgent>>();
+    for (int jour = 0; jour <= JOURS_DU_MOIS; jour++) {
+      fluxParJour.add(new ArrayList<>());
+    }
+    for (var origine : ((Argent) possessions.get(possession)).getFluxArgents()) {
+      var flux = remplacements.getOrDefault(origine, origine);
+      var jour = flux.getDateOperation();
+      if (jour >= 1 && jour <= JOURS_DU_MOIS) {
+        fluxParJour.get(jour).add(flux);
+      }
+    }
+    return fluxParJour.stream().map(IntervallesFlux::new).toList();
+  }
+
+  boolean surveille(int possession) {
+    return possessions.get(possession) instanceof Argent argent && !(argent instanceof Dette);
+  }
+
+  void observe(int possession, LocalDate date, int valeur) {
+    if (valeur >= 0 || !surveille(possession)) {
+      return;
+    }
+    var fluxImpossiblesDuJour = new HashSet<FluxArgent>();
+    var fluxDuJour =
+        fluxParJourDuMois.computeIfAbsent(possession, this::indexe).get(date.getDayOfMonth());
+    for (var flux : fluxDuJour.actifsLe(date)) {
+      fluxImpossiblesDuJour.add(flux.projectionFuture(date, FluxArgent::nbOperations));
+    }
+    if (!fluxImpossiblesDuJour.isEmpty()) {
+      fluxImpossibles.add(
+          new FluxImpossibles(
+              date, possessions.get(possession).getNom(), valeur, fluxImpossiblesDuJour));
+    }
+  }
+
+  // les flux de l'argent ont changé à partir de depuis : ce qui a été observé ensuite ne vaut plus
+  void invalide(int possession, LocalDate depuis) {
+    fluxParJourDuMois.remove(possession);
+    var nom = possessions.get(possession).getNom();
+    fluxImpossibles.removeIf(f -> f.nomArgent().equals(nom) && !f.date().isBefore(depuis));
+  }
+
+  void remplace(FluxArgent origine, FluxArgent remplacant) {
+    remplacements.put(origine, remplacant);
+  }
+
+  void ajoute(Collection<FluxImpossibles> fluxImpossibles) {
+    this.fluxImpossibles.addAll(fluxImpossibles);
+  }
+
+  Set<FluxImpossibles> getFluxImpossibles() {
+    return Set.copyOf(fluxImpossibles);
+  }
+}
@@ -0,0 +1,11 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.time.LocalDate;
+import school.hei.patrimoine.modele.Patrimoine;
+
+@FunctionalInterface
+public interface Evaluateur {
+  Evaluateur SEQUENTIEL = SeriesJournalieres::simule;
+
+  SeriesJournalieres evalue(Patrimoine patrimoine, LocalDate debut, LocalDate fin);
+}
@@ -0,0 +1,133 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.lang.Math.min;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Dette;
+
+/* Évalue de nombreux patrimoines sur une même période, chacun sur un thread du pool, et ne garde
+ * de chacun que son résumé, remis au puits dès qu'il est prêt. Au plus deux patrimoines
+ * par thread sont en cours : les patrimoines peuvent donc être produits au fil de l'eau sans
+ * être tous chargés. Un patrimoine en échec est journalisé et compté, sans arrêter le lot ;
+ * un résumé que le puits refuse l'est à part. Comme pour EvaluateurParallele, seul le pool créé
+ * à partir d'un parallélisme est arrêté à la fermeture. */
+@Slf4j
+public class EvaluateurEnLot implements AutoCloseable {
+  private static final int EN_COURS_PAR_THREAD = 2;
+
+  private final ForkJoinPool pool;
+  private final boolean proprietaire;
+
+  public EvaluateurEnLot(int parallelisme) {
+    this(new ForkJoinPool(parallelisme), true);
+  }
+
+  public EvaluateurEnLot(ForkJoinPool pool) {
+    this(pool, false);
+  }
+
+  private EvaluateurEnLot(ForkJoinPool pool, boolean proprietaire) {
+    this.pool = pool;
+    this.proprietaire = proprietaire;
+  }
+
+  @Override
+  public void close() {
+    if (proprietaire) {
+      pool.shutdown();
+    }
+  }
+
+  // le puits n'est jamais appelé par deux threads à la fois
+  public BilanLot evalue(
+      Iterable<Patrimoine> patrimoines,
+      LocalDate debut,
+      LocalDate fin,
+      Consumer<ResumePatrimoine> puits) {
+    var debutLot = System.nanoTime();
+    var places = new Semaphore(pool.getParallelism() * EN_COURS_PAR_THREAD);
+    var nbEvalues = new AtomicInteger();
+    var nbEchecs = new AtomicInteger();
+    var nbResumesPerdus = new AtomicInteger();
+    for (var patrimoine : patrimoines) {
+      places.acquireUninterruptibly();
+      try {
+        pool.execute(
+            () -> {
+              try {
+                ResumePatrimoine resume;
+                try {
+                  resume = resume(patrimoine, SeriesJournalieres.simule(patrimoine, debut, fin));
+                } catch (RuntimeException e) {
+                  log.warn("Évaluation de {} impossible", patrimoine.nom(), e);
+                  nbEchecs.incrementAndGet();
+                  return;
+                }
+                try {
+                  synchronized (puits) {
+                    puits.accept(resume);
+                  }
+                  nbEvalues.incrementAndGet();
+                } catch (RuntimeException e) {
+                  log.warn("Résumé de {} refusé par le puits", patrimoine.nom(), e);
+                  nbResumesPerdus.incrementAndGet();
+                }
+              } finally {
+                places.release();
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        places.release();
+        throw e;
+      }
+    }
+    places.acquireUninterruptibly(pool.getParallelism() * EN_COURS_PAR_THREAD);
+
+    var bilan =
+        new BilanLot(
+            nbEvalues.get(),
+            nbEchecs.get(),
+            nbResumesPerdus.get(),
+            Duration.ofNanos(System.nanoTime() - debutLot));
+    log.info(
+        "{} patrimoines évalués, {} en échec, {} résumés perdus, en {} ms : {} patrimoines/s",
+        bilan.nbEvalues(),
+        bilan.nbEchecs(),
+        bilan.nbResumesPerdus(),
+        bilan.duree().toMillis(),
+        String.format("%.1f", bilan.patrimoinesParSeconde()));
+    return bilan;
+  }
+
+  private static ResumePatrimoine resume(Patrimoine patrimoine, SeriesJournalieres series) {
+    var totaux = series.colonneTotaux();
+    var valeurMinimale = 0;
+    for (int jour = 0; jour < totaux.length; jour++) {
+      valeurMinimale = jour == 0 ? totaux[0] : min(valeurMinimale, totaux[jour]);
+    }
+    var soldeMinimal = Integer.MAX_VALUE;
+    var possessions = series.getPossessions();
+    for (int i = 0; i < possessions.size(); i++) {
+      if (possessions.get(i) instanceof Argent argent && !(argent instanceof Dette)) {
+        for (var solde : series.colonne(i)) {
+          soldeMinimal = min(soldeMinimal, solde);
+        }
+      }
+    }
+    return new ResumePatrimoine(
+        patrimoine.nom(),
+        totaux.length == 0 ? 0 : totaux[totaux.length - 1],
+        valeurMinimale,
+        soldeMinimal == Integer.MAX_VALUE ? 0 : soldeMinimal,
+        series.getFluxImpossibles().size());
+  }
+}
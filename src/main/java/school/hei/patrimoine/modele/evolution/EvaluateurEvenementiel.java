@@ -0,0 +1,106 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.Possession;
+
+/* L'argent d'une possession ne change qu'à l'ouverture des comptes et aux jours d'opération
+ * de leurs flux : on ne le valorise qu'à ces événements, et on complète les jours intermédiaires
+ * avec ce palier plus la valeur des matériels, elle-même donnée par une formule close. */
+public class EvaluateurEvenementiel implements Evaluateur {
+
+  @Override
+  public SeriesJournalieres evalue(Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    var series = new SeriesJournalieres(patrimoine, debut, fin);
+    var possessions = series.getPossessions();
+    for (int i = 0; i < possessions.size(); i++) {
+      evalue(possessions.get(i), series, series.colonne(i));
+    }
+    series.calculeTotaux();
+    series.detecteFluxImpossibles();
+    return series;
+  }
+
+  private static void evalue(Possession possession, SeriesJournalieres series, int[] serie) {
+    var nbJours = series.getNbJours();
+    var materiels = Composantes.composantes(possession, Materiel.class);
+    var evenements = evenements(possession, series.getDebut(), nbJours);
+
+    for (int jour = evenements.nextSetBit(0); jour >= 0 && jour < nbJours; ) {
+      var jourSuivant = evenements.nextSetBit(jour + 1);
+      if (jourSuivant < 0) {
+        jourSuivant = nbJours;
+      }
+
+      var date = series.date(jour);
+      var palier =
+          possession.valeurComptableProjetee(date, FluxArgent::nbOperations)
+              - valeur(materiels, date);
+      if (materiels.isEmpty()) {
+        Arrays.fill(serie, jour, jourSuivant, palier);
+      } else {
+        for (int j = jour; j < jourSuivant; j++) {
+          serie[j] = palier + valeur(materiels, series.date(j));
+        }
+      }
+      jour = jourSuivant;
+    }
+  }
+
+  private static int valeur(List<Materiel> materiels, LocalDate date) {
+    var valeur = 0;
+    for (var materiel : materiels) {
+      valeur += materiel.valeurComptableProjetee(date, FluxArgent::nbOperations);
+    }
+    return valeur;
+  }
+
+  private static BitSet evenements(Possession possession, LocalDate debut, int nbJours) {
+    var evenements = new BitSet(nbJours);
+    if (nbJours == 0) {
+      return evenements;
+    }
+    evenements.set(0);
+    var fin = debut.plusDays(nbJours - 1);
+    for (var argent : Composantes.composantes(possession, Argent.class)) {
+      marque(evenements, debut, fin, argent.getDateOuverture());
+      for (var flux : argent.fluxActifsEntre(debut, fin)) {
+        marqueOperations(evenements, flux, debut, fin);
+      }
+    }
+    return evenements;
+  }
+
+  private static void marqueOperations(
+      BitSet evenements, FluxArgent flux, LocalDate debut, LocalDate fin) {
+    var premiereDate = flux.debutOperations().isAfter(debut) ? flux.debutOperations() : debut;
+    var derniereDate = flux.getFin().isBefore(fin) ? flux.getFin() : fin;
+    if (premiereDate.isAfter(derniereDate)) {
+      return;
+    }
+
+    var jourOperation = flux.getDateOperation();
+    for (var mois = YearMonth.from(premiereDate);
+        !mois.isAfter(YearMonth.from(derniereDate));
+        mois = mois.plusMonths(1)) {
+      if (mois.isValidDay(jourOperation)) {
+        marque(evenements, debut, fin, mois.atDay(jourOperation));
+      }
+    }
+  }
+
+  private static void marque(BitSet evenements, LocalDate debut, LocalDate fin, LocalDate date) {
+    if (!date.isBefore(debut) && !date.isAfter(fin)) {
+      evenements.set((int) DAYS.between(debut, date));
+    }
+  }
+}
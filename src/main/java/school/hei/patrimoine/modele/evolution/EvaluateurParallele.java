@@ -0,0 +1,85 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.lang.Math.max;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import school.hei.patrimoine.modele.Patrimoine;
+
+/* Découpe la période en tranches évaluées en parallèle : chaque tranche démarre le plan compilé
+ * à son premier jour puis avance jour par jour, en écrivant dans sa portion des colonnes.
+ * Le pool créé à partir d'un parallélisme appartient à l'évaluateur, qui l'arrête à sa fermeture ;
+ * un pool fourni reste à la charge de l'appelant. */
+public class EvaluateurParallele implements Evaluateur, AutoCloseable {
+  private static final int TRANCHES_PAR_THREAD = 4;
+  private static final int JOURS_MIN_PAR_TRANCHE = 31;
+
+  private final ForkJoinPool pool;
+  private final boolean proprietaire;
+
+  public EvaluateurParallele(int parallelisme) {
+    this(new ForkJoinPool(parallelisme), true);
+  }
+
+  public EvaluateurParallele(ForkJoinPool pool) {
+    this(pool, false);
+  }
+
+  private EvaluateurParallele(ForkJoinPool pool, boolean proprietaire) {
+    this.pool = pool;
+    this.proprietaire = proprietaire;
+  }
+
+  @Override
+  public void close() {
+    if (proprietaire) {
+      pool.shutdown();
+    }
+  }
+
+  @Override
+  public SeriesJournalieres evalue(Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    var series = new SeriesJournalieres(patrimoine, debut, fin);
+    var joursParTranche =
+        max(
+            JOURS_MIN_PAR_TRANCHE,
+            series.getNbJours() / (pool.getParallelism() * TRANCHES_PAR_THREAD));
+    var plan = PlanExecution.compile(series.getPossessions());
+    pool.invoke(new Tranche(series, plan, 0, series.getNbJours(), joursParTranche));
+    return series;
+  }
+
+  private static final class Tranche extends RecursiveAction {
+    private final SeriesJournalieres series;
+    private final PlanExecution plan;
+    private final int premierJour;
+    private final int finJour;
+    private final int joursParTranche;
+
+    private Tranche(
+        SeriesJournalieres series,
+        PlanExecution plan,
+        int premierJour,
+        int finJour,
+        int joursParTranche) {
+      this.series = series;
+      this.plan = plan;
+      this.premierJour = premierJour;
+      this.finJour = finJour;
+      this.joursParTranche = joursParTranche;
+    }
+
+    @Override
+    protected void compute() {
+      if (finJour - premierJour <= joursParTranche) {
+        series.simule(plan, premierJour, finJour);
+        return;
+      }
+      var milieu = (premierJour + finJour) >>> 1;
+      invokeAll(
+          new Tranche(series, plan, premierJour, milieu, joursParTranche),
+          new Tranche(series, plan, milieu, finJour, joursParTranche));
+    }
+  }
+}
@@ -0,0 +1,253 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.lang.Math.max;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.time.temporal.ChronoUnit.DAYS;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.serialisation.CodecPatrimoine;
+
+/* Garde sur disque les séries calculées par l'évaluateur délégué, un fichier par patrimoine et
+ * par période, nommé d'après l'empreinte SHA-256 du patrimoine sérialisé et de la période.
+ * Un patrimoine inchangé est relu depuis le fichier projeté en mémoire au lieu d'être réévalué.
+ * Fichier : en-tête, une colonne d'entiers par possession puis celle des totaux, puis les noms
+ * des possessions, qui vérifient que les colonnes sont bien dans l'ordre des séries.
+ * L'empreinte inclut la version de la simulation, et le dossier ne garde que les fichiers
+ * les plus récemment utilisés dans la limite de tailleMax octets. */
+@Slf4j
+public class EvaluateurPersistant implements Evaluateur {
+  private static final int MAGIQUE = 0x53455249;
+  private static final int VERSION = 1;
+  // magique, version, nbPossessions, nbJours, puis debut en jours depuis l'époque
+  private static final int TAILLE_ENTETE = 4 * Integer.BYTES + Long.BYTES;
+  private static final String EXTENSION = ".series";
+  private static final long TAILLE_MAX_PAR_DEFAUT = 256L * 1024 * 1024;
+
+  private final Path dossier;
+  private final Evaluateur delegue;
+  private final long tailleMax;
+
+  public EvaluateurPersistant(Path dossier) {
+    this(dossier, SEQUENTIEL);
+  }
+
+  public EvaluateurPersistant(Path dossier, Evaluateur delegue) {
+    this(dossier, delegue, TAILLE_MAX_PAR_DEFAUT);
+  }
+
+  public EvaluateurPersistant(Path dossier, Evaluateur delegue, long tailleMax) {
+    this.dossier = dossier;
+    this.delegue = delegue;
+    this.tailleMax = tailleMax;
+  }
+
+  @Override
+  public SeriesJournalieres evalue(Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    Path fichier;
+    try {
+      fichier = dossier.resolve(cle(patrimoine, debut, fin) + EXTENSION);
+    } catch (IOException e) {
+      log.warn("Empreinte impossible pour {}, évaluation sans persistance", patrimoine.nom(), e);
+      return delegue.evalue(patrimoine, debut, fin);
+    }
+
+    if (Files.exists(fichier)) {
+      var relues = lit(fichier, patrimoine, debut, fin);
+      if (relues.isPresent()) {
+        marqueUtilise(fichier);
+        return relues.get();
+      }
+    }
+    var series = delegue.evalue(patrimoine, debut, fin);
+    try {
+      ecrit(fichier, series);
+      nettoie();
+    } catch (IOException e) {
+      log.warn("Séries de {} non persistées dans {}", patrimoine.nom(), fichier, e);
+    }
+    return series;
+  }
+
+  static String cle(Patrimoine patrimoine, LocalDate debut, LocalDate fin) throws IOException {
+    MessageDigest empreinte;
+    try {
+      empreinte = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException(e);
+    }
+    try (var sortie = new DigestOutputStream(OutputStream.nullOutputStream(), empreinte)) {
+      new CodecPatrimoine().ecrit(patrimoine, sortie);
+    }
+    empreinte.update(
+        ByteBuffer.allocate(Integer.BYTES + 2 * Long.BYTES)
+            .putInt(SeriesJournalieres.VERSION_SIMULATION)
+            .putLong(debut.toEpochDay())
+            .putLong(fin.toEpochDay())
+            .array());
+    return HexFormat.of().formatHex(empreinte.digest());
+  }
+
+  // l'en-tête et les noms sont vérifiés avant d'allouer les colonnes
+  private static Optional<SeriesJournalieres> lit(
+      Path fichier, Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    try (var canal = FileChannel.open(fichier, READ)) {
+      var octets = canal.map(READ_ONLY, 0, canal.size()).order(LITTLE_ENDIAN);
+      var possessions = SeriesJournalieres.possessionsValorisables(patrimoine);
+      var nbPossessions = possessions.size();
+      var nbJours = (int) max(0, DAYS.between(debut, fin) + 1);
+      if (octets.getInt() != MAGIQUE
+          || octets.getInt() != VERSION
+          || octets.getInt() != nbPossessions
+          || octets.getInt() != nbJours
+          || octets.getLong() != debut.toEpochDay()) {
+        return Optional.empty();
+      }
+
+      var tailleColonnes = (long) (nbPossessions + 1) * nbJours * Integer.BYTES;
+      if (TAILLE_ENTETE + tailleColonnes > octets.limit()) {
+        return Optional.empty();
+      }
+      octets.position((int) (TAILLE_ENTETE + tailleColonnes));
+      for (var possession : possessions) {
+        var tailleNom = octets.getInt();
+        if (tailleNom < 0 || tailleNom > octets.remaining()) {
+          return Optional.empty();
+        }
+        var nom = new byte[tailleNom];
+        octets.get(nom);
+        if (!possession.getNom().equals(new String(nom, UTF_8))) {
+          return Optional.empty();
+        }
+      }
+
+      var series = new SeriesJournalieres(possessions, debut, fin);
+      var colonnes = octets.slice(TAILLE_ENTETE, (int) tailleColonnes).order(LITTLE_ENDIAN);
+      var entiers = colonnes.asIntBuffer();
+      for (int i = 0; i < nbPossessions; i++) {
+        entiers.get(series.colonne(i));
+      }
+      entiers.get(series.colonneTotaux());
+      series.detecteFluxImpossibles();
+      return Optional.of(series);
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+      log.warn("Séries illisibles dans {}, elles seront recalculées", fichier, e);
+      return Optional.empty();
+    }
+  }
+
+  private static void marqueUtilise(Path fichier) {
+    try {
+      Files.setLastModifiedTime(fichier, FileTime.from(Instant.now()));
+    } catch (IOException e) {
+      log.debug("Date d'utilisation de {} non mise à jour", fichier, e);
+    }
+  }
+
+  private record FichierSeries(Path chemin, FileTime utilisation, long taille) {}
+
+  // garde les fichiers les plus récemment utilisés tant que leur taille cumulée tient
+  private void nettoie() throws IOException {
+    List<Path> chemins;
+    try (var contenu = Files.list(dossier)) {
+      chemins = contenu.filter(f -> f.getFileName().toString().endsWith(EXTENSION)).toList();
+    }
+    var fichiers = new ArrayList<FichierSeries>();
+    for (var chemin : chemins) {
+      try {
+        var attributs = Files.readAttributes(chemin, BasicFileAttributes.class);
+        fichiers.add(new FichierSeries(chemin, attributs.lastModifiedTime(), attributs.size()));
+      } catch (NoSuchFileException e) {
+        // supprimé entre-temps par un autre lancement
+      }
+    }
+    fichiers.sort(Comparator.comparing(FichierSeries::utilisation).reversed());
+
+    var tailleGardee = 0L;
+    for (var fichier : fichiers) {
+      tailleGardee += fichier.taille();
+      if (tailleGardee > tailleMax) {
+        Files.deleteIfExists(fichier.chemin());
+      }
+    }
+  }
+
+  // réservé à l'utilisateur courant : personne d'autre ne peut y déposer de séries
+  private void creeDossier() throws IOException {
+    if (dossier.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.createDirectories(
+          dossier,
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    } else {
+      Files.createDirectories(dossier);
+    }
+  }
+
+  private void ecrit(Path fichier, SeriesJournalieres series) throws IOException {
+    var possessions = series.getPossessions();
+    var noms = possessions.stream().map(p -> p.getNom().getBytes(UTF_8)).toList();
+    var tailleNoms = noms.stream().mapToLong(nom -> Integer.BYTES + nom.length).sum();
+    var tailleColonnes = (long) (possessions.size() + 1) * series.getNbJours() * Integer.BYTES;
+    var taille = TAILLE_ENTETE + tailleColonnes + tailleNoms;
+    if (taille > Integer.MAX_VALUE) {
+      throw new IOException("Séries trop grandes pour une seule projection : " + taille);
+    }
+
+    creeDossier();
+    // écrit à côté puis renomme : un lecteur ne voit jamais un fichier à moitié écrit
+    var temporaire = Files.createTempFile(dossier, fichier.getFileName().toString(), ".tmp");
+    try {
+      try (var canal = FileChannel.open(temporaire, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+        var octets = canal.map(READ_WRITE, 0, taille).order(LITTLE_ENDIAN);
+        octets
+            .putInt(MAGIQUE)
+            .putInt(VERSION)
+            .putInt(possessions.size())
+            .putInt(series.getNbJours())
+            .putLong(series.getDebut().toEpochDay());
+        var entiers = octets.slice().order(LITTLE_ENDIAN).asIntBuffer();
+        for (int i = 0; i < possessions.size(); i++) {
+          entiers.put(series.colonne(i));
+        }
+        entiers.put(series.colonneTotaux());
+        octets.position((int) (TAILLE_ENTETE + tailleColonnes));
+        for (var nom : noms) {
+          octets.putInt(nom.length).put(nom);
+        }
+      }
+      Files.move(temporaire, fichier, ATOMIC_MOVE, REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporaire);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Possession;
+
+/* Évalue le patrimoine de base une seule fois, puis chaque variante en ne simulant que
+ * ses remplacements : les colonnes des possessions inchangées sont celles de la base,
+ * et les totaux sont ceux de la base corrigés des seules colonnes remplacées. Une possession
+ * remplacée à l'intérieur d'un groupe corrige la colonne de chaque possession qui la contient. */
+public class EvaluateurVariantes {
+
+  public LotVariantes evalue(
+      Patrimoine base, List<Variante> variantes, LocalDate debut, LocalDate fin) {
+    var seriesBase = SeriesJournalieres.simule(base, debut, fin);
+    var composantes =
+        seriesBase.getPossessions().stream()
+            .map(p -> Composantes.composantes(p, Possession.class))
+            .toList();
+    var parNom = parNom(composantes);
+    var seriesVariantes = new LinkedHashMap<String, SeriesJournalieres>();
+    for (var variante : variantes) {
+      if (seriesVariantes.containsKey(variante.nom())) {
+        throw new IllegalArgumentException("Plusieurs variantes se nomment " + variante.nom());
+      }
+      seriesVariantes.put(variante.nom(), evalue(seriesBase, composantes, parNom, variante, fin));
+    }
+    return new LotVariantes(seriesBase, seriesVariantes);
+  }
+
+  private static SeriesJournalieres evalue(
+      SeriesJournalieres base,
+      List<List<Possession>> composantes,
+      Map<String, Set<Possession>> parNom,
+      Variante variante,
+      LocalDate fin) {
+    var remplacements = List.copyOf(variante.remplacements());
+    var nomsRemplaces = new HashSet<String>();
+    for (var remplacement : remplacements) {
+      if (remplacement instanceof FluxArgent) {
+        throw new IllegalArgumentException(
+            "Le flux " + remplacement.getNom() + " se remplace à travers son argent");
+      }
+      if (!nomsRemplaces.add(remplacement.getNom())) {
+        throw new IllegalArgumentException(
+            "Plusieurs remplacements se nomment " + remplacement.getNom());
+      }
+    }
+    var remplacees = SeriesJournalieres.simule(remplacements, base.getDebut(), fin);
+
+    var possessions = new ArrayList<>(base.getPossessions());
+    var valeurs = new ArrayList<int[]>();
+    for (int i = 0; i < possessions.size(); i++) {
+      valeurs.add(base.colonne(i));
+    }
+    var copiees = new boolean[possessions.size()];
+    var totaux = base.totaux();
+    var fluxImpossibles = new ArrayList<>(remplacees.getFluxImpossibles());
+    for (int r = 0; r < remplacements.size(); r++) {
+      var remplacement = remplacements.get(r);
+      var anciennes = parNom.getOrDefault(remplacement.getNom(), Set.of());
+      if (anciennes.size() > 1) {
+        throw new IllegalArgumentException(
+            "Plusieurs possessions portent le nom " + remplacement.getNom());
+      }
+      if (anciennes.isEmpty()) {
+        possessions.add(remplacement);
+        valeurs.add(remplacees.colonne(r));
+        ajoute(totaux, remplacees.colonne(r), 1);
+        continue;
+      }
+
+      var ancienne = anciennes.iterator().next();
+      var rangAncienne = rang(possessions, ancienne);
+      if (rangAncienne < 0) {
+        // seules les possessions de premier niveau sont surveillées, comme dans la simulation
+        fluxImpossibles.removeIf(f -> f.nomArgent().equals(remplacement.getNom()));
+      }
+      var serieAncienne =
+          rangAncienne >= 0
+              ? valeurs.get(rangAncienne)
+              : SeriesJournalieres.simule(List.of(ancienne), base.getDebut(), fin).colonne(0);
+      var ecart = remplacees.serie(r);
+      ajoute(ecart, serieAncienne, -1);
+      for (int i = 0; i < composantes.size(); i++) {
+        if (possessions.get(i) == ancienne) {
+          possessions.set(i, remplacement);
+          valeurs.set(i, remplacees.colonne(r));
+          copiees[i] = false;
+          ajoute(totaux, ecart, 1);
+          continue;
+        }
+        if (possessions.get(i) != base.getPossessions().get(i)) {
+          continue; // déjà remplacée en entier par cette variante
+        }
+        // une possession présente deux fois dans une autre y compte deux fois, comme dans le plan
+        var nbOccurrences = composantes.get(i).stream().filter(p -> p == ancienne).count();
+        for (int n = 0; n < nbOccurrences; n++) {
+          if (!copiees[i]) {
+            valeurs.set(i, valeurs.get(i).clone());
+            copiees[i] = true;
+          }
+          ajoute(valeurs.get(i), ecart, 1);
+          ajoute(totaux, ecart, 1);
+        }
+      }
+    }
+
+    var series =
+        new SeriesJournalieres(
+            base.getDebut(), List.copyOf(possessions), valeurs.toArray(int[][]::new), totaux);
+    series.ajouteFluxImpossibles(
+        base.getFluxImpossibles().stream()
+            .filter(f -> !nomsRemplaces.contains(f.nomArgent()))
+            .toList());
+    series.ajouteFluxImpossibles(fluxImpossibles);
+    return series;
+  }
+
+  private static void ajoute(int[] cible, int[] serie, int signe) {
+    for (int jour = 0; jour < cible.length; jour++) {
+      cible[jour] += signe * serie[jour];
+    }
+  }
+
+  // par identité : deux possessions distinctes peuvent être égales
+  private static int rang(List<Possession> possessions, Possession possession) {
+    for (int rang = 0; rang < possessions.size(); rang++) {
+      if (possessions.get(rang) == possession) {
+        return rang;
+      }
+    }
+    return -1;
+  }
+
+  // par nom, les possessions distinctes qui le portent, à tout niveau des possessions de la base
+  private static Map<String, Set<Possession>> parNom(List<List<Possession>> composantes) {
+    var parNom = new HashMap<String, Set<Possession>>();
+    for (var composantesDuRang : composantes) {
+      for (var possession : composantesDuRang) {
+        if (!(possession instanceof FluxArgent)) {
+          parNom
+              .computeIfAbsent(
+                  possession.getNom(), nom -> Collections.newSetFromMap(new IdentityHashMap<>()))
+              .add(possession);
+        }
+      }
+    }
+    return parNom;
+  }
+}
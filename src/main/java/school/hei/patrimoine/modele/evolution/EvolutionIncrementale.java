@@ -0,0 +1,150 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import school.hei.patrimoine.modele.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+/* Tient à jour les séries d'une évolution quand on modifie un flux : seul son argent change,
+ * et seulement à partir du premier jour où l'ancien et le nouveau flux diffèrent. On ne corrige
+ * donc que la fin des colonnes qui contiennent cet argent et celle des totaux. Ni le patrimoine
+ * ni les colonnes de l'évolution ne sont touchés : le flux modifié est rattaché à une copie
+ * de son argent, et une colonne n'est copiée qu'à sa première correction. */
+public class EvolutionIncrementale {
+  private final int[][] valeurs;
+  private final boolean[] copiees;
+  private final int[] totaux;
+  private final Map<Argent, List<Integer>> possessionsParArgent = new IdentityHashMap<>();
+  // flux du patrimoine -> son état modifié
+  private final Map<FluxArgent, FluxArgent> modifies = new IdentityHashMap<>();
+  @Getter private final SeriesJournalieres series;
+
+  public EvolutionIncrementale(EvolutionPatrimoine evolution) {
+    var source = evolution.getSeries();
+    var possessions = source.getPossessions();
+    valeurs = new int[possessions.size()][];
+    copiees = new boolean[possessions.size()];
+    for (int i = 0; i < possessions.size(); i++) {
+      valeurs[i] = source.colonne(i);
+      // un argent présent deux fois dans une possession y compte deux fois, comme dans le plan
+      for (var argent : Composantes.composantes(possessions.get(i), Argent.class)) {
+        possessionsParArgent.computeIfAbsent(argent, a -> new ArrayList<>()).add(i);
+      }
+    }
+    totaux = source.totaux();
+    series = new SeriesJournalieres(source.getDebut(), possessions, valeurs, totaux);
+    series.ajouteFluxImpossibles(source.getFluxImpossibles());
+  }
+
+  /* flux est celui du patrimoine de l'évolution, même s'il a déjà été modifié :
+   * seuls son montant, son jour d'opération et sa fin peuvent changer. */
+  public void modifie(FluxArgent flux, int fluxMensuel, int dateOperation, LocalDate fin) {
+    var argent = flux.getArgent();
+    var courant = modifies.getOrDefault(flux, flux);
+    var modifie =
+        new FluxArgent(
+            flux.getNom(),
+            copie(argent),
+            flux.getDebut(),
+            fin,
+            fluxMensuel,
+            dateOperation,
+            flux.getDevise());
+    var premierJour = premierJourAffecte(argent, courant, modifie);
+    verifieSigne(argent, flux, modifie, premierJour);
+    modifies.put(flux, modifie);
+    series.remplaceFlux(flux, modifie);
+
+    var possessions = possessionsParArgent.getOrDefault(argent, List.of());
+    if (possessions.isEmpty() || premierJour >= series.getNbJours()) {
+      return;
+    }
+
+    for (int jour = premierJour; jour < series.getNbJours(); jour++) {
+      var date = series.date(jour);
+      var delta =
+          modifie.variationFuture(date, FluxArgent::nbOperations)
+              - courant.variationFuture(date, FluxArgent::nbOperations);
+      if (delta == 0) {
+        continue;
+      }
+      for (var possession : possessions) {
+        serieModifiable(possession)[jour] += delta;
+        totaux[jour] += delta;
+      }
+    }
+    for (var possession : possessions) {
+      series.redetecteFluxImpossibles(possession, premierJour);
+    }
+  }
+
+  // la copie n'a aucun des flux de l'argent : l'argent du patrimoine garde les siens
+  private static Argent copie(Argent argent) {
+    return switch (argent) {
+      case Dette dette -> new Dette(
+          dette.getNom(), dette.getT(), dette.getValeurComptable(), dette.getDevise());
+      case Creance creance -> new Creance(
+          creance.getNom(), creance.getT(), creance.getValeurComptable(), creance.getDevise());
+      default -> new Argent(
+          argent.getNom(),
+          argent.getDateOuverture(),
+          argent.getT(),
+          argent.getValeurComptable(),
+          argent.getDevise());
+    };
+  }
+
+  // le même refus que la simulation complète, avant de toucher aux séries
+  private void verifieSigne(Argent argent, FluxArgent flux, FluxArgent modifie, int premierJour) {
+    if (!(argent instanceof Dette) && !(argent instanceof Creance)) {
+      return;
+    }
+    for (int jour = premierJour; jour < series.getNbJours(); jour++) {
+      var date = series.date(jour);
+      if (date.isBefore(argent.getDateOuverture())) {
+        continue;
+      }
+      var solde = argent.getValeurComptable();
+      for (var f : argent.getFluxArgents()) {
+        var courant = f == flux ? modifie : modifies.getOrDefault(f, f);
+        solde += courant.variationFuture(date, FluxArgent::nbOperations);
+      }
+      if ((argent instanceof Dette && solde > 0) || (argent instanceof Creance && solde < 0)) {
+        throw new IllegalArgumentException(
+            argent.getNom() + " changerait de signe le " + date + " : " + solde);
+      }
+    }
+  }
+
+  // même début et même argent : seuls le montant, le jour d'opération ou la fin diffèrent
+  private int premierJourAffecte(Argent argent, FluxArgent ancien, FluxArgent nouveau) {
+    var premiereDate =
+        ancien.getFluxMensuel() == nouveau.getFluxMensuel()
+                && ancien.getDateOperation() == nouveau.getDateOperation()
+            ? (ancien.getFin().isBefore(nouveau.getFin()) ? ancien.getFin() : nouveau.getFin())
+                .plusDays(1)
+            : ancien.debutOperations();
+    var ouverture = argent.getDateOuverture();
+    if (premiereDate.isBefore(ouverture)) {
+      premiereDate = ouverture;
+    }
+    return (int) Math.max(0, DAYS.between(series.getDebut(), premiereDate));
+  }
+
+  private int[] serieModifiable(int possession) {
+    if (!copiees[possession]) {
+      valeurs[possession] = valeurs[possession].clone();
+      copiees[possession] = true;
+    }
+    return valeurs[possession];
+  }
+}
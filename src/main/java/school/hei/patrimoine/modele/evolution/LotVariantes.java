@@ -0,0 +1,9 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.util.Map;
+
+public record LotVariantes(SeriesJournalieres base, Map<String, SeriesJournalieres> variantes) {
+  public SeriesJournalieres variante(String nom) {
+    return variantes.get(nom);
+  }
+}
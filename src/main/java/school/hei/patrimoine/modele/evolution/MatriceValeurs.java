@@ -0,0 +1,35 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.time.LocalDate;
+import java.util.List;
+import school.hei.patrimoine.modele.Patrimoine;
+
+/* Valeurs de quelques possessions à quelques dates, sans simuler les jours intermédiaires :
+ * le plan des seules possessions demandées bondit d'une date à la suivante en gardant ses soldes.
+ * La matrice est rangée comme les séries journalières : une ligne par possession. */
+public final class MatriceValeurs {
+  private MatriceValeurs() {}
+
+  public static long[][] valorise(Patrimoine patrimoine, List<String> noms, List<LocalDate> dates) {
+    for (int d = 1; d < dates.size(); d++) {
+      if (dates.get(d).isBefore(dates.get(d - 1))) {
+        throw new IllegalArgumentException(
+            "Dates non triées : " + dates.get(d) + " après " + dates.get(d - 1));
+      }
+    }
+    var valeurs = new long[noms.size()][dates.size()];
+    if (dates.isEmpty()) {
+      return valeurs;
+    }
+
+    var plan = PlanExecution.compile(noms.stream().map(patrimoine::possessionParNom).toList());
+    var execution = plan.demarre(dates.get(0));
+    for (int d = 0; d < dates.size(); d++) {
+      execution.avancerJusqua(dates.get(d));
+      for (int i = 0; i < noms.size(); i++) {
+        valeurs[i][d] = execution.valeurComptable(i);
+      }
+    }
+    return valeurs;
+  }
+}
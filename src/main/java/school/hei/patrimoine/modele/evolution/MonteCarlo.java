@@ -0,0 +1,155 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.lang.Math.max;
+import static java.time.temporal.ChronoUnit.DAYS;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.change.TauxDeChange;
+import school.hei.patrimoine.modele.change.TauxJournaliers;
+import school.hei.patrimoine.modele.possession.Possession;
+
+/* Simule un patrimoine de nombreuses fois en tirant au hasard les taux d'appréciation des matériels
+ * et des devises, autour de leurs valeurs nominales. Le patrimoine n'est compilé qu'une fois :
+ * chaque tirage ne fait que démarrer le plan avec ses propres taux. Chaque tirage a sa graine,
+ * dérivée de la graine initiale dans l'ordre des tirages : le résultat ne dépend pas du parallélisme. */
+public class MonteCarlo {
+  private final int nbTirages;
+  private final double ecartTypeAppreciation;
+  private final double ecartTypeChange;
+  private final long graine;
+  private final ForkJoinPool pool;
+
+  public MonteCarlo(
+      int nbTirages,
+      double ecartTypeAppreciation,
+      double ecartTypeChange,
+      long graine,
+      ForkJoinPool pool) {
+    if (nbTirages <= 0) {
+      throw new IllegalArgumentException("Il faut au moins un tirage");
+    }
+    this.nbTirages = nbTirages;
+    this.ecartTypeAppreciation = ecartTypeAppreciation;
+    this.ecartTypeChange = ecartTypeChange;
+    this.graine = graine;
+    this.pool = pool;
+  }
+
+  public BandesPercentiles simule(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin, Devise devise, Clock horloge) {
+    var modele = new Modele(patrimoine, debut, fin);
+    var aujourdhui = LocalDate.now(horloge);
+    var graines = new SplittableRandom(graine).longs(nbTirages).toArray();
+
+    var valeursParJour = new int[modele.nbJours][nbTirages];
+    pool.submit(
+            () ->
+                IntStream.range(0, nbTirages)
+                    .parallel()
+                    .forEach(
+                        tirage -> {
+                          var aleatoire = new SplittableRandom(graines[tirage]);
+                          var tauxMateriels = modele.plan.tauxMateriels();
+                          for (int m = 0; m < tauxMateriels.length; m++) {
+                            tauxMateriels[m] += ecartTypeAppreciation * aleatoire.nextGaussian();
+                          }
+                          var taux = tauxDeChangeTires(modele.devises, aujourdhui, aleatoire);
+                          var totaux = modele.simule(tauxMateriels, taux, devise);
+                          for (int jour = 0; jour < totaux.length; jour++) {
+                            valeursParJour[jour][tirage] = totaux[jour];
+                          }
+                        }))
+        .join();
+
+    var p5 = new int[modele.nbJours];
+    var p50 = new int[modele.nbJours];
+    var p95 = new int[modele.nbJours];
+    pool.submit(
+            () ->
+                IntStream.range(0, modele.nbJours)
+                    .parallel()
+                    .forEach(
+                        jour -> {
+                          var valeurs = valeursParJour[jour];
+                          Arrays.sort(valeurs);
+                          p5[jour] = percentile(valeurs, 5);
+                          p50[jour] = percentile(valeurs, 50);
+                          p95[jour] = percentile(valeurs, 95);
+                        }))
+        .join();
+    return new BandesPercentiles(debut, nbTirages, p5, p50, p95);
+  }
+
+  // une devise sans appréciation sert de référence : on ne la tire pas
+  private TauxDeChange tauxDeChangeTires(
+      List<Devise> devises, LocalDate aujourdhui, SplittableRandom aleatoire) {
+    Map<Devise, Devise> tirees = new HashMap<>();
+    for (var devise : devises) {
+      if (devise.tauxDappréciationAnnuel() != 0) {
+        tirees.put(
+            devise,
+            new Devise(
+                devise.nom(),
+                devise.valeurEnAriary(),
+                devise.t(),
+                devise.tauxDappréciationAnnuel() + ecartTypeChange * aleatoire.nextGaussian()));
+      }
+    }
+    return (devise, t) -> tirees.getOrDefault(devise, devise).valeurEnAriary(t, aujourdhui);
+  }
+
+  // rang le plus proche sur des valeurs triées
+  private static int percentile(int[] valeursTriees, int percentile) {
+    var rang = (int) Math.ceil(percentile / 100. * valeursTriees.length);
+    return valeursTriees[Math.max(0, rang - 1)];
+  }
+
+  private static final class Modele {
+    private final PlanExecution plan;
+    private final LocalDate debut;
+    private final int nbJours;
+    private final List<Devise> devises;
+    private final int[] indexDevises;
+
+    private Modele(Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+      this.plan = PlanExecution.compile(SeriesJournalieres.possessionsValorisables(patrimoine));
+      this.debut = debut;
+      this.nbJours = (int) max(0, DAYS.between(debut, fin) + 1);
+      this.devises = plan.getPossessions().stream().map(Possession::getDevise).distinct().toList();
+      this.indexDevises =
+          plan.getPossessions().stream().mapToInt(p -> devises.indexOf(p.getDevise())).toArray();
+    }
+
+    private int[] simule(double[] tauxMateriels, TauxDeChange taux, Devise cible) {
+      var totaux = new int[nbJours];
+      if (nbJours == 0) {
+        return totaux;
+      }
+      var tauxJournaliers = new TauxJournaliers(taux, debut, debut.plusDays(nbJours - 1));
+      var conversions = devises.stream().map(d -> tauxJournaliers.conversion(d, cible)).toList();
+      var sousTotaux = new int[devises.size()];
+      var execution = plan.demarre(debut, tauxMateriels);
+      for (int jour = 0; jour < nbJours; jour++) {
+        Arrays.fill(sousTotaux, 0);
+        for (int i = 0; i < indexDevises.length; i++) {
+          sousTotaux[indexDevises[i]] += execution.valeurComptable(i);
+        }
+        for (int d = 0; d < sousTotaux.length; d++) {
+          totaux[jour] += conversions.get(d).convertit(sousTotaux[d], jour);
+        }
+        execution.avancer();
+      }
+      return totaux;
+    }
+  }
+}
@@ -0,0 +1,270 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.lang.Math.max;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.CalendrierOperations;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.Possession;
+
+/* Patrimoine aplati une fois pour toutes en tableaux de primitives : comptes, flux mensuels
+ * et matériels. Les groupes ne subsistent que comme plages d'index par possession valorisée. */
+public class PlanExecution {
+  private static final int JOURS_DU_MOIS = 31;
+  private static final byte SANS_SIGNE = 0;
+  private static final byte NEGATIF = -1;
+  private static final byte POSITIF = 1;
+
+  @Getter private final List<Possession> possessions;
+
+  private final int[] valeursInitialesComptes;
+  private final long[] ouverturesComptes;
+  private final byte[] signesComptes;
+
+  private final int[] comptesFlux;
+  private final int[] montantsFlux;
+  private final int[] joursOperationFlux;
+  private final long[] debutsOperationsFlux;
+  private final long[] finsFlux;
+  private final int[] fluxParJourDuMois;
+
+  private final int[] valeursMateriels;
+  private final long[] tMateriels;
+  private final long[] acquisitionsMateriels;
+  private final double[] tauxMateriels;
+
+  private final int[] comptesParPossession;
+  private final int[] debutsComptesParPossession;
+  private final int[] materielsParPossession;
+  private final int[] debutsMaterielsParPossession;
+
+  private PlanExecution(List<Possession> possessions) {
+    this.possessions = possessions;
+    var indexComptes = new IdentityHashMap<Argent, Integer>();
+    var indexMateriels = new IdentityHashMap<Materiel, Integer>();
+    var comptes = new ArrayList<Argent>();
+    var materiels = new ArrayList<Materiel>();
+
+    debutsComptesParPossession = new int[possessions.size() + 1];
+    debutsMaterielsParPossession = new int[possessions.size() + 1];
+    var comptesDesPossessions = new ArrayList<Integer>();
+    var materielsDesPossessions = new ArrayList<Integer>();
+    for (int p = 0; p < possessions.size(); p++) {
+      for (var argent : Composantes.composantes(possessions.get(p), Argent.class)) {
+        comptesDesPossessions.add(index(argent, indexComptes, comptes));
+      }
+      for (var materiel : Composantes.composantes(possessions.get(p), Materiel.class)) {
+        materielsDesPossessions.add(index(materiel, indexMateriels, materiels));
+      }
+      debutsComptesParPossession[p + 1] = comptesDesPossessions.size();
+      debutsMaterielsParPossession[p + 1] = materielsDesPossessions.size();
+    }
+    comptesParPossession = comptesDesPossessions.stream().mapToInt(i -> i).toArray();
+    materielsParPossession = materielsDesPossessions.stream().mapToInt(i -> i).toArray();
+
+    valeursInitialesComptes = new int[comptes.size()];
+    ouverturesComptes = new long[comptes.size()];
+    signesComptes = new byte[comptes.size()];
+    var flux = new ArrayList<FluxArgent>();
+    var comptesDesFlux = new IdentityHashMap<FluxArgent, Integer>();
+    for (int c = 0; c < comptes.size(); c++) {
+      var compte = comptes.get(c);
+      var valeurInitiale = compte.getValeurComptable();
+      for (var f : compte.getFluxArgents()) {
+        valeurInitiale -= compte.getValeurComptable() - f.getArgent().getValeurComptable();
+        var jour = f.getDateOperation();
+        if (jour >= 1 && jour <= JOURS_DU_MOIS) {
+          flux.add(f);
+          comptesDesFlux.put(f, c);
+        }
+      }
+      valeursInitialesComptes[c] = valeurInitiale;
+      ouverturesComptes[c] = compte.getDateOuverture().toEpochDay();
+      signesComptes[c] = signe(compte);
+    }
+
+    flux.sort(Comparator.comparingInt(FluxArgent::getDateOperation));
+    comptesFlux = new int[flux.size()];
+    montantsFlux = new int[flux.size()];
+    joursOperationFlux = new int[flux.size()];
+    debutsOperationsFlux = new long[flux.size()];
+    finsFlux = new long[flux.size()];
+    fluxParJourDuMois = new int[JOURS_DU_MOIS + 2];
+    for (int f = 0; f < flux.size(); f++) {
+      var fluxArgent = flux.get(f);
+      comptesFlux[f] = comptesDesFlux.get(fluxArgent);
+      montantsFlux[f] = fluxArgent.getFluxMensuel();
+      joursOperationFlux[f] = fluxArgent.getDateOperation();
+      debutsOperationsFlux[f] = fluxArgent.debutOperations().toEpochDay();
+      finsFlux[f] = fluxArgent.getFin().toEpochDay();
+      fluxParJourDuMois[joursOperationFlux[f] + 1] = f + 1;
+    }
+    for (int jour = 1; jour < fluxParJourDuMois.length; jour++) {
+      fluxParJourDuMois[jour] = max(fluxParJourDuMois[jour], fluxParJourDuMois[jour - 1]);
+    }
+
+    valeursMateriels = new int[materiels.size()];
+    tMateriels = new long[materiels.size()];
+    acquisitionsMateriels = new long[materiels.size()];
+    tauxMateriels = new double[materiels.size()];
+    for (int m = 0; m < materiels.size(); m++) {
+      var materiel = materiels.get(m);
+      valeursMateriels[m] = materiel.getValeurComptable();
+      tMateriels[m] = materiel.getT().toEpochDay();
+      acquisitionsMateriels[m] = materiel.getDateAcquisition().toEpochDay();
+      tauxMateriels[m] = materiel.getTauxDAppreciationAnnuelle();
+    }
+  }
+
+  public static PlanExecution compile(List<Possession> possessions) {
+    return new PlanExecution(possessions);
+  }
+
+  private static <T> int index(T composante, Map<T, Integer> index, List<T> composantes) {
+    return index.computeIfAbsent(
+        composante,
+        c -> {
+          composantes.add(c);
+          return composantes.size() - 1;
+        });
+  }
+
+  private static byte signe(Argent compte) {
+    if (compte instanceof Dette) {
+      return NEGATIF;
+    }
+    return compte instanceof Creance ? POSITIF : SANS_SIGNE;
+  }
+
+  public int nbMateriels() {
+    return tauxMateriels.length;
+  }
+
+  public double[] tauxMateriels() {
+    return tauxMateriels.clone();
+  }
+
+  public Execution demarre(LocalDate date) {
+    return demarre(date, tauxMateriels);
+  }
+
+  // les taux d'appréciation, rangés comme tauxMateriels(), remplacent ceux des matériels
+  public Execution demarre(LocalDate date, double[] tauxMateriels) {
+    if (tauxMateriels.length != nbMateriels()) {
+      throw new IllegalArgumentException(
+          "Attendu " + nbMateriels() + " taux de matériels, reçu " + tauxMateriels.length);
+    }
+    return new Execution(date, tauxMateriels);
+  }
+
+  public class Execution {
+    private final int[] soldes = new int[valeursInitialesComptes.length];
+    private final double[] valeursAjouteesJournalieresMateriels = new double[tauxMateriels.length];
+    @Getter private LocalDate date;
+    private long jour;
+
+    private Execution(LocalDate date, double[] tauxMateriels) {
+      this.date = date;
+      this.jour = date.toEpochDay();
+      for (int m = 0; m < tauxMateriels.length; m++) {
+        valeursAjouteesJournalieresMateriels[m] = valeursMateriels[m] * (tauxMateriels[m] / 365.);
+      }
+      System.arraycopy(valeursInitialesComptes, 0, soldes, 0, soldes.length);
+      for (int f = 0; f < comptesFlux.length; f++) {
+        var fin = LocalDate.ofEpochDay(Math.min(jour, finsFlux[f]));
+        var debutOperations = LocalDate.ofEpochDay(debutsOperationsFlux[f]);
+        soldes[comptesFlux[f]] +=
+            montantsFlux[f]
+                * CalendrierOperations.nbOperations(debutOperations, fin, joursOperationFlux[f]);
+      }
+    }
+
+    public void avancer() {
+      date = date.plusDays(1);
+      jour++;
+      var jourDuMois = date.getDayOfMonth();
+      for (int f = fluxParJourDuMois[jourDuMois]; f < fluxParJourDuMois[jourDuMois + 1]; f++) {
+        if (debutsOperationsFlux[f] <= jour && jour <= finsFlux[f]) {
+          soldes[comptesFlux[f]] += montantsFlux[f];
+        }
+      }
+    }
+
+    // d'un bond : chaque flux ajoute d'un coup ses opérations de ]date, cible]
+    public void avancerJusqua(LocalDate cible) {
+      var jourCible = cible.toEpochDay();
+      if (jourCible < jour) {
+        throw new IllegalArgumentException("Impossible de revenir de " + date + " à " + cible);
+      }
+      if (jourCible - jour <= JOURS_DU_MOIS) {
+        while (jour < jourCible) {
+          avancer();
+        }
+        return;
+      }
+      for (int f = 0; f < comptesFlux.length; f++) {
+        var premier = max(debutsOperationsFlux[f], jour + 1);
+        var dernier = Math.min(finsFlux[f], jourCible);
+        if (premier <= dernier) {
+          soldes[comptesFlux[f]] +=
+              montantsFlux[f]
+                  * CalendrierOperations.nbOperations(
+                      LocalDate.ofEpochDay(premier),
+                      LocalDate.ofEpochDay(dernier),
+                      joursOperationFlux[f]);
+        }
+      }
+      date = cible;
+      jour = jourCible;
+    }
+
+    public int valeurComptable(int possession) {
+      var valeur = 0;
+      for (int k = debutsComptesParPossession[possession];
+          k < debutsComptesParPossession[possession + 1];
+          k++) {
+        valeur += valeurCompte(comptesParPossession[k]);
+      }
+      for (int k = debutsMaterielsParPossession[possession];
+          k < debutsMaterielsParPossession[possession + 1];
+          k++) {
+        valeur += valeurMateriel(materielsParPossession[k]);
+      }
+      return valeur;
+    }
+
+    private int valeurCompte(int compte) {
+      if (jour < ouverturesComptes[compte]) {
+        return 0;
+      }
+      var solde = soldes[compte];
+      if ((signesComptes[compte] == NEGATIF && solde > 0)
+          || (signesComptes[compte] == POSITIF && solde < 0)) {
+        throw new IllegalArgumentException();
+      }
+      return solde;
+    }
+
+    private int valeurMateriel(int materiel) {
+      if (jour < acquisitionsMateriels[materiel]) {
+        return 0;
+      }
+      var joursEcoules = jour - tMateriels[materiel];
+      return max(
+          0,
+          (int)
+              (valeursMateriels[materiel]
+                  + valeursAjouteesJournalieresMateriels[materiel] * joursEcoules));
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.temporal.TemporalAdjusters.previousOrSame;
+
+import java.time.LocalDate;
+
+public enum Resolution {
+  SEMAINE {
+    @Override
+    public LocalDate debutPeriode(LocalDate date) {
+      return date.with(previousOrSame(MONDAY));
+    }
+  },
+  MOIS {
+    @Override
+    public LocalDate debutPeriode(LocalDate date) {
+      return date.withDayOfMonth(1);
+    }
+  },
+  ANNEE {
+    @Override
+    public LocalDate debutPeriode(LocalDate date) {
+      return date.withDayOfYear(1);
+    }
+  };
+
+  public abstract LocalDate debutPeriode(LocalDate date);
+}
@@ -0,0 +1,6 @@
+package school.hei.patrimoine.modele.evolution;
+
+/* soldeMinimal : plus petite valeur atteinte par un argent du patrimoine, dettes exclues,
+ * ou 0 s'il n'en a aucun. */
+public record ResumePatrimoine(
+    String nom, int valeurFinale, int valeurMinimale, int soldeMinimal, int nbFluxImpossibles) {}
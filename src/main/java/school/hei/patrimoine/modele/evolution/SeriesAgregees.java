@@ -0,0 +1,100 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/* Les séries journalières regroupées par période : pour chaque période, le minimum, le maximum
+ * et la dernière valeur de chaque colonne. Le minimum garde visible un passage sous zéro
+ * qu'une seule valeur par période ferait disparaître. Les périodes au bord sont tronquées
+ * à la période simulée. */
+public class SeriesAgregees {
+  @Getter private final Resolution resolution;
+  @Getter private final List<LocalDate> debuts;
+  private final List<Agregats> parPossession;
+  private final Agregats totaux;
+
+  private SeriesAgregees(
+      Resolution resolution,
+      List<LocalDate> debuts,
+      List<Agregats> parPossession,
+      Agregats totaux) {
+    this.resolution = resolution;
+    this.debuts = debuts;
+    this.parPossession = parPossession;
+    this.totaux = totaux;
+  }
+
+  public static SeriesAgregees de(SeriesJournalieres series, Resolution resolution) {
+    var debuts = new ArrayList<LocalDate>();
+    var premiersJours = new ArrayList<Integer>();
+    for (int jour = 0; jour < series.getNbJours(); jour++) {
+      var debut = resolution.debutPeriode(series.date(jour));
+      if (debuts.isEmpty() || !debuts.get(debuts.size() - 1).equals(debut)) {
+        debuts.add(jour == 0 ? series.date(0) : debut);
+        premiersJours.add(jour);
+      }
+    }
+    premiersJours.add(series.getNbJours());
+    var bornes = premiersJours.stream().mapToInt(i -> i).toArray();
+
+    var parPossession = new ArrayList<Agregats>();
+    for (int i = 0; i < series.getPossessions().size(); i++) {
+      parPossession.add(new Agregats(series.colonne(i), bornes));
+    }
+    return new SeriesAgregees(
+        resolution,
+        List.copyOf(debuts),
+        parPossession,
+        new Agregats(series.colonneTotaux(), bornes));
+  }
+
+  public int getNbPeriodes() {
+    return debuts.size();
+  }
+
+  public Agregats agregats(int indexPossession) {
+    return parPossession.get(indexPossession);
+  }
+
+  public Agregats totaux() {
+    return totaux;
+  }
+
+  public static final class Agregats {
+    private final int[] minimums;
+    private final int[] maximums;
+    private final int[] dernieres;
+
+    private Agregats(int[] serie, int[] bornes) {
+      var nbPeriodes = bornes.length - 1;
+      minimums = new int[nbPeriodes];
+      maximums = new int[nbPeriodes];
+      dernieres = new int[nbPeriodes];
+      for (int periode = 0; periode < nbPeriodes; periode++) {
+        var min = Integer.MAX_VALUE;
+        var max = Integer.MIN_VALUE;
+        for (int jour = bornes[periode]; jour < bornes[periode + 1]; jour++) {
+          min = Math.min(min, serie[jour]);
+          max = Math.max(max, serie[jour]);
+        }
+        minimums[periode] = min;
+        maximums[periode] = max;
+        dernieres[periode] = serie[bornes[periode + 1] - 1];
+      }
+    }
+
+    public int[] minimums() {
+      return minimums;
+    }
+
+    public int[] maximums() {
+      return maximums;
+    }
+
+    public int[] dernieres() {
+      return dernieres;
+    }
+  }
+}
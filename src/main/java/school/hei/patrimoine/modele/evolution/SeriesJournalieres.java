@@ -0,0 +1,172 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.lang.Math.max;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import school.hei.patrimoine.modele.FluxImpossibles;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Possession;
+
+/* Une colonne de valeurs comptables par possession, indexée par le nombre de jours depuis debut,
+ * plus une colonne des totaux du patrimoine : aucun Patrimoine journalier n'est conservé. */
+public class SeriesJournalieres {
+  // à incrémenter à chaque correction qui change les valeurs simulées : les séries persistées
+  // par une version antérieure ne sont alors plus relues
+  static final int VERSION_SIMULATION = 1;
+  // ordre des colonnes : ne dépend ni du hachage ni de l'ordre d'insertion, qui changent d'un
+  // lancement à l'autre, pour que les séries persistées se relisent
+  private static final Comparator<Possession> ORDRE =
+      comparing((Possession p) -> p.getClass().getName())
+          .thenComparing(Possession::getNom)
+          .thenComparing(Possession::getT, nullsFirst(naturalOrder()))
+          .thenComparingInt(Possession::getValeurComptable)
+          .thenComparing(p -> p.getDevise().nom());
+
+  @Getter private final LocalDate debut;
+  @Getter private final int nbJours;
+  @Getter private final List<Possession> possessions;
+  private final int[][] valeurs;
+  private final int[] totaux;
+  private final DetecteurFluxImpossibles detecteur;
+
+  SeriesJournalieres(Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    this(possessionsValorisables(patrimoine), debut, fin);
+  }
+
+  SeriesJournalieres(List<Possession> possessions, LocalDate debut, LocalDate fin) {
+    this(
+        debut,
+        possessions,
+        new int[possessions.size()][(int) max(0, DAYS.between(debut, fin) + 1)],
+        new int[(int) max(0, DAYS.between(debut, fin) + 1)]);
+  }
+
+  // les colonnes peuvent être partagées avec d'autres séries : qui veut en modifier une la copie
+  SeriesJournalieres(LocalDate debut, List<Possession> possessions, int[][] valeurs, int[] totaux) {
+    this.debut = debut;
+    this.nbJours = totaux.length;
+    this.possessions = possessions;
+    this.valeurs = valeurs;
+    this.totaux = totaux;
+    this.detecteur = new DetecteurFluxImpossibles(possessions);
+  }
+
+  public static SeriesJournalieres simule(Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    return simule(possessionsValorisables(patrimoine), debut, fin);
+  }
+
+  static SeriesJournalieres simule(List<Possession> possessions, LocalDate debut, LocalDate fin) {
+    var series = new SeriesJournalieres(possessions, debut, fin);
+    series.simule(PlanExecution.compile(series.possessions), 0, series.nbJours);
+    return series;
+  }
+
+  void simule(PlanExecution plan, int premierJour, int finJour) {
+    var execution = plan.demarre(date(premierJour));
+    for (int jour = premierJour; jour < finJour; jour++) {
+      var total = 0;
+      for (int i = 0; i < valeurs.length; i++) {
+        var valeur = execution.valeurComptable(i);
+        if (valeur < 0) {
+          detecteur.observe(i, execution.getDate(), valeur);
+        }
+        valeurs[i][jour] = valeur;
+        total += valeur;
+      }
+      totaux[jour] = total;
+      execution.avancer();
+    }
+  }
+
+  void calculeTotaux() {
+    Arrays.fill(totaux, 0);
+    for (var serie : valeurs) {
+      for (int jour = 0; jour < nbJours; jour++) {
+        totaux[jour] += serie[jour];
+      }
+    }
+  }
+
+  // pour les évaluateurs qui remplissent les colonnes sans passer par simule
+  void detecteFluxImpossibles() {
+    for (int i = 0; i < valeurs.length; i++) {
+      if (!detecteur.surveille(i)) {
+        continue;
+      }
+      for (int jour = 0; jour < nbJours; jour++) {
+        if (valeurs[i][jour] < 0) {
+          detecteur.observe(i, date(jour), valeurs[i][jour]);
+        }
+      }
+    }
+  }
+
+  void remplaceFlux(FluxArgent origine, FluxArgent remplacant) {
+    detecteur.remplace(origine, remplacant);
+  }
+
+  void redetecteFluxImpossibles(int possession, int depuisJour) {
+    if (!detecteur.surveille(possession)) {
+      return;
+    }
+    detecteur.invalide(possession, date(depuisJour));
+    for (int jour = depuisJour; jour < nbJours; jour++) {
+      if (valeurs[possession][jour] < 0) {
+        detecteur.observe(possession, date(jour), valeurs[possession][jour]);
+      }
+    }
+  }
+
+  static List<Possession> possessionsValorisables(Patrimoine patrimoine) {
+    return patrimoine.possessions().stream()
+        .filter(p -> !(p instanceof FluxArgent)) // valeur comptable toujours 0
+        .distinct()
+        .sorted(ORDRE)
+        .toList();
+  }
+
+  public LocalDate date(int jour) {
+    return debut.plusDays(jour);
+  }
+
+  // une copie : la colonne elle-même peut être partagée avec d'autres séries
+  public int[] serie(int indexPossession) {
+    return valeurs[indexPossession].clone();
+  }
+
+  // la colonne elle-même, pour le paquetage qui ne l'écrit qu'avant de publier les séries
+  int[] colonne(int indexPossession) {
+    return valeurs[indexPossession];
+  }
+
+  public int valeur(int indexPossession, int jour) {
+    return valeurs[indexPossession][jour];
+  }
+
+  public int[] totaux() {
+    return totaux.clone();
+  }
+
+  int[] colonneTotaux() {
+    return totaux;
+  }
+
+  public Set<FluxImpossibles> getFluxImpossibles() {
+    return detecteur.getFluxImpossibles();
+  }
+
+  void ajouteFluxImpossibles(Collection<FluxImpossibles> fluxImpossibles) {
+    detecteur.ajoute(fluxImpossibles);
+  }
+}
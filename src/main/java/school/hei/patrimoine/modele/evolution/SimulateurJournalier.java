@@ -0,0 +1,123 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.lang.Math.max;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.util.Spliterator.IMMUTABLE;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterator.SIZED;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.Getter;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.CompteurOperations;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Possession;
+
+/* Avance d'un jour au suivant en n'appliquant que les opérations du jour,
+ * au lieu de recompter toutes les opérations depuis Patrimoine::t à chaque date. */
+public class SimulateurJournalier implements CompteurOperations {
+  private static final int JOURS_DU_MOIS = 31;
+
+  private final Patrimoine patrimoine;
+  private final Map<FluxArgent, CompteurFlux> compteurs = new IdentityHashMap<>();
+  private final List<List<CompteurFlux>> compteursParJourDuMois = new ArrayList<>();
+  @Getter private LocalDate date;
+
+  public SimulateurJournalier(Patrimoine patrimoine, LocalDate debut) {
+    this.patrimoine = patrimoine;
+    this.date = debut;
+    for (int jour = 0; jour <= JOURS_DU_MOIS; jour++) {
+      compteursParJourDuMois.add(new ArrayList<>());
+    }
+    patrimoine.possessions().forEach(p -> Composantes.parcours(p, this::indexeFlux));
+  }
+
+  private void indexeFlux(Possession possession) {
+    if (possession instanceof FluxArgent flux) {
+      indexeFlux(flux);
+    } else if (possession instanceof Argent argent) {
+      argent.getFluxArgents().forEach(this::indexeFlux);
+    }
+  }
+
+  private void indexeFlux(FluxArgent flux) {
+    if (compteurs.containsKey(flux)) {
+      return;
+    }
+    var compteur = new CompteurFlux(flux, flux.nbOperations(date));
+    compteurs.put(flux, compteur);
+    var jour = flux.getDateOperation();
+    if (jour >= 1 && jour <= JOURS_DU_MOIS) {
+      compteursParJourDuMois.get(jour).add(compteur);
+    }
+  }
+
+  public static Stream<Patrimoine> projections(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    var nbJours = max(0, DAYS.between(debut, fin) + 1);
+    var simulateur = new SimulateurJournalier(patrimoine, debut);
+    return StreamSupport.stream(
+        new AbstractSpliterator<Patrimoine>(nbJours, ORDERED | SIZED | NONNULL | IMMUTABLE) {
+          @Override
+          public boolean tryAdvance(Consumer<? super Patrimoine> action) {
+            if (simulateur.date.isAfter(fin)) {
+              return false;
+            }
+            action.accept(simulateur.projection());
+            simulateur.avancer();
+            return true;
+          }
+        },
+        false);
+  }
+
+  public void avancer() {
+    date = date.plusDays(1);
+    compteursParJourDuMois.get(date.getDayOfMonth()).forEach(c -> c.compte(date));
+  }
+
+  public Patrimoine projection() {
+    return patrimoine.projectionFuture(date, this);
+  }
+
+  public int valeurComptable(Possession possession) {
+    return possession.valeurComptableProjetee(date, this);
+  }
+
+  @Override
+  public int nbOperations(FluxArgent flux, LocalDate tFutur) {
+    var compteur = compteurs.get(flux);
+    if (compteur == null || !date.equals(tFutur)) {
+      return flux.nbOperations(tFutur);
+    }
+    return compteur.nbOperations;
+  }
+
+  private static final class CompteurFlux {
+    private final LocalDate debutOperations;
+    private final LocalDate fin;
+    private int nbOperations;
+
+    private CompteurFlux(FluxArgent flux, int nbOperations) {
+      this.debutOperations = flux.debutOperations();
+      this.fin = flux.getFin();
+      this.nbOperations = nbOperations;
+    }
+
+    private void compte(LocalDate jour) {
+      if (!jour.isBefore(debutOperations) && !jour.isAfter(fin)) {
+        nbOperations++;
+      }
+    }
+  }
+}
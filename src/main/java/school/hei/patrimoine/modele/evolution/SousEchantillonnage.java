@@ -0,0 +1,59 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.min;
+
+import java.util.stream.IntStream;
+
+/* Largest-Triangle-Three-Buckets : garde nbPoints jours d'une série, le premier, le dernier
+ * et, dans chaque tranche intermédiaire, celui qui forme le plus grand triangle avec le point
+ * gardé avant lui et la moyenne de la tranche suivante. Les pics et les creux survivent donc
+ * à la réduction, qui ne dépend que de nbPoints et non de la longueur de la série. */
+public final class SousEchantillonnage {
+  private SousEchantillonnage() {}
+
+  public static int[] joursGardes(int[] serie, int nbPoints) {
+    if (nbPoints < 3) {
+      throw new IllegalArgumentException("Il faut garder au moins 3 points, pas " + nbPoints);
+    }
+    var nbJours = serie.length;
+    if (nbPoints >= nbJours) {
+      return IntStream.range(0, nbJours).toArray();
+    }
+
+    var gardes = new int[nbPoints];
+    var tailleTranche = (double) (nbJours - 2) / (nbPoints - 2);
+    var precedent = 0;
+    for (int tranche = 0; tranche < nbPoints - 2; tranche++) {
+      var debutSuivante = (int) ((tranche + 1) * tailleTranche) + 1;
+      var finSuivante = min((int) ((tranche + 2) * tailleTranche) + 1, nbJours);
+      var moyenneX = 0.;
+      var moyenneY = 0.;
+      for (int jour = debutSuivante; jour < finSuivante; jour++) {
+        moyenneX += jour;
+        moyenneY += serie[jour];
+      }
+      moyenneX /= finSuivante - debutSuivante;
+      moyenneY /= finSuivante - debutSuivante;
+
+      var debut = (int) (tranche * tailleTranche) + 1;
+      var fin = (int) ((tranche + 1) * tailleTranche) + 1;
+      var aireMax = -1.;
+      var garde = debut;
+      for (int jour = debut; jour < fin; jour++) {
+        var aire =
+            abs(
+                (precedent - moyenneX) * ((double) serie[jour] - serie[precedent])
+                    - (precedent - jour) * (moyenneY - serie[precedent]));
+        if (aire > aireMax) {
+          aireMax = aire;
+          garde = jour;
+        }
+      }
+      gardes[tranche + 1] = garde;
+      precedent = garde;
+    }
+    gardes[nbPoints - 1] = nbJours - 1;
+    return gardes;
+  }
+}
@@ -0,0 +1,9 @@
+package school.hei.patrimoine.modele.evolution;
+
+import java.util.Set;
+import school.hei.patrimoine.modele.possession.Possession;
+
+/* Ce qui distingue une variante du patrimoine de base : chaque remplacement prend la place
+ * de la possession de même nom, même dans un groupe, ou s'ajoute s'il n'y en a aucune. Un flux se remplace à travers
+ * son argent, seul à porter une valeur. */
+public record Variante(String nom, Set<Possession> remplacements) {}
@@ -4,11 +4,12 @@ import static school.hei.patrimoine.modele.Devise.NON_NOMMEE;
 
 import java.time.LocalDate;
 import java.util.Set;
+import lombok.Getter;
 import school.hei.patrimoine.modele.Devise;
 
 public final class AchatMaterielAuComptant extends Possession {
 
-  private final GroupePossession achatCommeGroupe;
+  @Getter private final GroupePossession achatCommeGroupe;
 
   public AchatMaterielAuComptant(
       String nom,
@@ -51,7 +52,12 @@ public final class AchatMaterielAuComptant extends Possession {
   }
 
   @Override
-  public Possession projectionFuture(LocalDate tFutur) {
-    return achatCommeGroupe.projectionFuture(tFutur);
+  public Possession projectionFuture(LocalDate tFutur, CompteurOperations compteur) {
+    return achatCommeGroupe.projectionFuture(tFutur, compteur);
+  }
+
+  @Override
+  public int valeurComptableProjetee(LocalDate tFutur, CompteurOperations compteur) {
+    return achatCommeGroupe.valeurComptableProjetee(tFutur, compteur);
   }
 }
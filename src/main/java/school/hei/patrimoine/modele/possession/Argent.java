@@ -1,11 +1,12 @@
 package school.hei.patrimoine.modele.possession;
 
-import static java.util.stream.Collectors.toSet;
 import static school.hei.patrimoine.modele.Devise.NON_NOMMEE;
 
 import java.time.LocalDate;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import school.hei.patrimoine.modele.Devise;
@@ -16,6 +17,16 @@ public sealed class Argent extends Possession permits Dette, Creance {
   private final LocalDate dateOuverture;
   private final Set<FluxArgent> fluxArgents;
 
+  // construit à la première requête : les comptes projetés chaque jour n'en font pas
+  @ToString.Exclude
+  @Getter(AccessLevel.NONE)
+  private transient volatile IntervallesFlux intervallesFlux;
+
+  // un flux ajouté après coup change les projections de l'argent
+  @ToString.Exclude
+  @Getter(AccessLevel.NONE)
+  private transient volatile int nbModifications;
+
   public Argent(String nom, LocalDate t, int valeurComptable, Devise devise) {
     this(nom, t, t, valeurComptable, devise);
   }
@@ -55,28 +66,80 @@ public sealed class Argent extends Possession permits Dette, Creance {
   }
 
   @Override
-  public Argent projectionFuture(LocalDate tFutur) {
+  public Argent projectionFuture(LocalDate tFutur, CompteurOperations compteur) {
     if (tFutur.isBefore(dateOuverture)) {
       return new Argent(nom, tFutur, 0, devise);
     }
 
+    // une seule passe : la variation de chaque flux sert au solde et au flux projeté
+    var financementsFuturs = 0;
+    var fluxArgentsFuturs = new HashSet<FluxArgent>();
+    for (var f : fluxArgents) {
+      var variationFuture = f.variationFuture(tFutur, compteur);
+      financementsFuturs +=
+          valeurComptable - (f.getArgent().getValeurComptable() + variationFuture);
+      fluxArgentsFuturs.add(f.projectionFuture(tFutur, variationFuture));
+    }
     return new Argent(
         nom,
         dateOuverture,
         tFutur,
-        valeurComptable - financementsFuturs(tFutur),
-        fluxArgents.stream().map(f -> f.projectionFuture(tFutur)).collect(toSet()),
+        valeurComptable - financementsFuturs,
+        fluxArgentsFuturs,
         devise);
   }
 
-  private int financementsFuturs(LocalDate tFutur) {
-    return fluxArgents.stream()
-        .mapToInt(
-            f -> valeurComptable - f.projectionFuture(tFutur).getArgent().getValeurComptable())
-        .sum();
+  @Override
+  public int valeurComptableProjetee(LocalDate tFutur, CompteurOperations compteur) {
+    if (tFutur.isBefore(dateOuverture)) {
+      return 0;
+    }
+    return valeurComptable - financementsFuturs(tFutur, compteur);
+  }
+
+  private int financementsFuturs(LocalDate tFutur, CompteurOperations compteur) {
+    var financementsFuturs = 0;
+    for (var f : fluxArgents) {
+      var valeurFluxFutur =
+          f.getArgent().getValeurComptable() + f.variationFuture(tFutur, compteur);
+      financementsFuturs += valeurComptable - valeurFluxFutur;
+    }
+    return financementsFuturs;
+  }
+
+  public List<FluxArgent> fluxActifsLe(LocalDate date) {
+    return intervallesFlux().actifsLe(date);
+  }
+
+  public List<FluxArgent> fluxActifsEntre(LocalDate debut, LocalDate fin) {
+    return intervallesFlux().actifsEntre(debut, fin);
+  }
+
+  private IntervallesFlux intervallesFlux() {
+    var intervalles = intervallesFlux;
+    if (intervalles == null) {
+      // deux threads peuvent le construire à la fois : les deux arbres portent sur les mêmes flux
+      intervalles = new IntervallesFlux(fluxArgents);
+      intervallesFlux = intervalles;
+    }
+    return intervalles;
+  }
+
+  private void invalideIntervalles() {
+    var intervalles = intervallesFlux;
+    if (intervalles != null) {
+      intervalles.invalide();
+    }
+  }
+
+  @Override
+  int nbModifications() {
+    return nbModifications;
   }
 
   void addFinancés(FluxArgent fluxArgent) {
     fluxArgents.add(fluxArgent);
+    nbModifications++;
+    invalideIntervalles();
   }
 }
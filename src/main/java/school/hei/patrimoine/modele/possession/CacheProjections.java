@@ -0,0 +1,119 @@
+package school.hei.patrimoine.modele.possession;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/* Projections déjà calculées, par possession (au sens de l'identité) et par date. Une possession
+ * n'est pas figée : un flux créé sur un argent s'y ajoute. Chaque projection garde donc le nombre
+ * de modifications de sa possession, et n'est rendue que s'il n'a pas changé depuis.
+ * Les projections les moins récemment demandées sont évincées dès que leur poids cumulé dépasse
+ * poidsMax. Une projection est calculée hors verrou : deux threads peuvent la calculer en même
+ * temps, une seule est gardée. */
+public class CacheProjections {
+  private final long poidsMax;
+  private final ToLongFunction<Possession> poids;
+  private final LinkedHashMap<Cle, Entree> projections = new LinkedHashMap<>(16, 0.75f, true);
+  private long poidsTotal;
+
+  private final LongAdder succes = new LongAdder();
+  private final LongAdder echecs = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public CacheProjections(int capacite) {
+    this(capacite, p -> 1);
+  }
+
+  public CacheProjections(long poidsMax, ToLongFunction<Possession> poids) {
+    if (poidsMax <= 0) {
+      throw new IllegalArgumentException("Le poids maximal doit être positif");
+    }
+    this.poidsMax = poidsMax;
+    this.poids = poids;
+  }
+
+  public Possession projectionFuture(Possession possession, LocalDate tFutur) {
+    var cle = new Cle(possession, tFutur);
+    var nbModifications = possession.nbModifications();
+    synchronized (projections) {
+      var entree = projections.get(cle);
+      if (entree != null && entree.nbModifications == nbModifications) {
+        succes.increment();
+        return entree.projection;
+      }
+    }
+    echecs.increment();
+    var entree =
+        new Entree(
+            possession.projectionFuture(tFutur), poids.applyAsLong(possession), nbModifications);
+    synchronized (projections) {
+      var dejaLa = projections.get(cle);
+      if (dejaLa != null && dejaLa.nbModifications == nbModifications) {
+        return dejaLa.projection;
+      }
+      if (dejaLa != null) {
+        poidsTotal -= dejaLa.poids; // périmée
+      }
+      projections.put(cle, entree);
+      poidsTotal += entree.poids;
+      evince();
+    }
+    return entree.projection;
+  }
+
+  private void evince() {
+    var iterateur = projections.values().iterator();
+    while (poidsTotal > poidsMax && iterateur.hasNext()) {
+      poidsTotal -= iterateur.next().poids;
+      iterateur.remove();
+      evictions.increment();
+    }
+  }
+
+  public void vide() {
+    synchronized (projections) {
+      projections.clear();
+      poidsTotal = 0;
+    }
+  }
+
+  public int taille() {
+    synchronized (projections) {
+      return projections.size();
+    }
+  }
+
+  public long poids() {
+    synchronized (projections) {
+      return poidsTotal;
+    }
+  }
+
+  public long getSucces() {
+    return succes.sum();
+  }
+
+  public long getEchecs() {
+    return echecs.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  private record Entree(Possession projection, long poids, int nbModifications) {}
+
+  // identité de la possession : deux possessions égales n'ont pas forcément les mêmes flux
+  private record Cle(Possession possession, LocalDate date) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Cle autre && possession == autre.possession && date.equals(autre.date);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(possession) + date.hashCode();
+    }
+  }
+}
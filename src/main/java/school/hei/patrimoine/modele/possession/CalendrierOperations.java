@@ -0,0 +1,62 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.lang.Math.floorDiv;
+
+import java.time.LocalDate;
+
+/* Compte en O(1) les jours d'un intervalle dont le quantième vaut jourOperation.
+ * Comme pour un parcours jour par jour, un mois trop court pour jourOperation
+ * (ex : le 31 en avril, le 29 en février non bissextile) ne compte aucune opération. */
+public final class CalendrierOperations {
+  private static final int[] MOIS_DE_31_JOURS = {0, 2, 4, 6, 7, 9, 11};
+
+  private CalendrierOperations() {}
+
+  public static int nbOperations(LocalDate debut, LocalDate fin, int jourOperation) {
+    if (jourOperation < 1 || jourOperation > 31 || debut.isAfter(fin)) {
+      return 0;
+    }
+
+    var nbOperations =
+        moisAvecJour(indexMois(fin) + 1, jourOperation)
+            - moisAvecJour(indexMois(debut), jourOperation);
+    if (debut.getDayOfMonth() > jourOperation && debut.lengthOfMonth() >= jourOperation) {
+      nbOperations--;
+    }
+    if (fin.getDayOfMonth() < jourOperation && fin.lengthOfMonth() >= jourOperation) {
+      nbOperations--;
+    }
+    return (int) nbOperations;
+  }
+
+  private static long indexMois(LocalDate date) {
+    return date.getYear() * 12L + date.getMonthValue() - 1;
+  }
+
+  /* Nombre de mois d'index < indexMois ayant au moins jourOperation jours,
+   * à une constante près : seules les différences ont un sens. */
+  private static long moisAvecJour(long indexMois, int jourOperation) {
+    if (jourOperation <= 28) {
+      return indexMois;
+    }
+    if (jourOperation == 31) {
+      var nbMois = 0L;
+      for (var mois : MOIS_DE_31_JOURS) {
+        nbMois += moisDeRang(indexMois, mois);
+      }
+      return nbMois;
+    }
+    var sansFevrier = indexMois - moisDeRang(indexMois, 1);
+    return jourOperation == 30
+        ? sansFevrier
+        : sansFevrier + anneesBissextiles(floorDiv(indexMois - 2, 12));
+  }
+
+  private static long moisDeRang(long indexMois, int rang) {
+    return floorDiv(indexMois + 11 - rang, 12);
+  }
+
+  private static long anneesBissextiles(long jusquALAnnee) {
+    return floorDiv(jusquALAnnee, 4) - floorDiv(jusquALAnnee, 100) + floorDiv(jusquALAnnee, 400);
+  }
+}
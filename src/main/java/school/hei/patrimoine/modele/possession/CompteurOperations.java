@@ -0,0 +1,8 @@
+package school.hei.patrimoine.modele.possession;
+
+import java.time.LocalDate;
+
+@FunctionalInterface
+public interface CompteurOperations {
+  int nbOperations(FluxArgent flux, LocalDate tFutur);
+}
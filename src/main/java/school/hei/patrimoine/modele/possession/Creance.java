@@ -23,7 +23,12 @@ public final class Creance extends Argent {
   }
 
   @Override
-  public Creance projectionFuture(LocalDate tFutur) {
-    return new Creance(super.projectionFuture(tFutur));
+  public Creance projectionFuture(LocalDate tFutur, CompteurOperations compteur) {
+    return new Creance(super.projectionFuture(tFutur, compteur));
+  }
+
+  @Override
+  public int valeurComptableProjetee(LocalDate tFutur, CompteurOperations compteur) {
+    return projectionFuture(tFutur, compteur).getValeurComptable();
   }
 }
@@ -23,7 +23,12 @@ public final class Dette extends Argent {
   }
 
   @Override
-  public Dette projectionFuture(LocalDate tFutur) {
-    return new Dette(super.projectionFuture(tFutur));
+  public Dette projectionFuture(LocalDate tFutur, CompteurOperations compteur) {
+    return new Dette(super.projectionFuture(tFutur, compteur));
+  }
+
+  @Override
+  public int valeurComptableProjetee(LocalDate tFutur, CompteurOperations compteur) {
+    return projectionFuture(tFutur, compteur).getValeurComptable();
   }
 }
@@ -3,6 +3,7 @@ package school.hei.patrimoine.modele.possession;
 import static school.hei.patrimoine.modele.Devise.NON_NOMMEE;
 
 import java.time.LocalDate;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,11 @@ public final class FluxArgent extends Possession {
   private final int fluxMensuel;
   private final int dateOperation;
 
+  // le même chaque jour : on ne le construit qu'une fois par flux
+  @ToString.Exclude
+  @Getter(AccessLevel.NONE)
+  private transient String nomArgentFutur;
+
   public FluxArgent(
       String nom,
       Argent argent,
@@ -51,24 +57,52 @@ public final class FluxArgent extends Possession {
   }
 
   @Override
-  public FluxArgent projectionFuture(LocalDate tFutur) {
+  public FluxArgent projectionFuture(LocalDate tFutur, CompteurOperations compteur) {
+    return projectionFuture(tFutur, variationFuture(tFutur, compteur));
+  }
+
+  FluxArgent projectionFuture(LocalDate tFutur, int variationFuture) {
     var tFuturMajoréParFin = (tFutur.isBefore(fin)) ? tFutur : fin;
-    var debutOperationMinoréParDebut = argent.t.isBefore(debut) ? debut : argent.t;
-    if (debutOperationMinoréParDebut.isAfter(tFuturMajoréParFin)) {
+    if (debutOperations().isAfter(tFuturMajoréParFin)) {
       return this;
     }
 
-    var nbOperations =
-        (int)
-            debutOperationMinoréParDebut
-                .datesUntil(tFuturMajoréParFin.plusDays(1))
-                .filter(d -> d.getDayOfMonth() == dateOperation)
-                .count();
-    var valeurFutur = argent.getValeurComptable() + fluxMensuel * nbOperations;
-    var argentFutur =
-        new Argent(
-            argent.nom + " réduit au financement de " + this, tFutur, valeurFutur, argent.devise);
+    var valeurFutur = argent.getValeurComptable() + variationFuture;
+    var argentFutur = new Argent(nomArgentFutur(), tFutur, valeurFutur, argent.devise);
     return new FluxArgent(
         nom, argentFutur, debut, tFuturMajoréParFin, fluxMensuel, dateOperation, devise);
   }
+
+  private String nomArgentFutur() {
+    var nomFutur = nomArgentFutur;
+    if (nomFutur == null) {
+      nomFutur = argent.nom + " réduit au financement de " + this;
+      nomArgentFutur = nomFutur;
+    }
+    return nomFutur;
+  }
+
+  @Override
+  public int valeurComptableProjetee(LocalDate tFutur, CompteurOperations compteur) {
+    return 0;
+  }
+
+  /* Ce dont le flux a fait varier son argent à tFutur, sans rien projeter :
+   * le chemin à privilégier quand seule la valeur de l'argent importe. */
+  public int variationFuture(LocalDate tFutur, CompteurOperations compteur) {
+    var tFuturMajoréParFin = (tFutur.isBefore(fin)) ? tFutur : fin;
+    if (debutOperations().isAfter(tFuturMajoréParFin)) {
+      return 0;
+    }
+    return fluxMensuel * compteur.nbOperations(this, tFutur);
+  }
+
+  public LocalDate debutOperations() {
+    return argent.t.isBefore(debut) ? debut : argent.t;
+  }
+
+  public int nbOperations(LocalDate tFutur) {
+    var tFuturMajoréParFin = (tFutur.isBefore(fin)) ? tFutur : fin;
+    return CalendrierOperations.nbOperations(debutOperations(), tFuturMajoréParFin, dateOperation);
+  }
 }
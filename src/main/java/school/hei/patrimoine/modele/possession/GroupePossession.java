@@ -5,11 +5,12 @@ import static school.hei.patrimoine.modele.Devise.NON_NOMMEE;
 
 import java.time.LocalDate;
 import java.util.Set;
+import lombok.Getter;
 import school.hei.patrimoine.modele.Devise;
 
 public final class GroupePossession extends Possession {
 
-  private final Set<Possession> possessions;
+  @Getter private final Set<Possession> possessions;
 
   public GroupePossession(String nom, LocalDate t, Set<Possession> possessions, Devise devise) {
     super(nom, t, possessions.stream().mapToInt(Possession::getValeurComptable).sum(), devise);
@@ -21,11 +22,21 @@ public final class GroupePossession extends Possession {
   }
 
   @Override
-  public Possession projectionFuture(LocalDate tFutur) {
+  public Possession projectionFuture(LocalDate tFutur, CompteurOperations compteur) {
     return new GroupePossession(
         nom,
         tFutur,
-        possessions.stream().map(p -> p.projectionFuture(tFutur)).collect(toSet()),
+        possessions.stream().map(p -> p.projectionFuture(tFutur, compteur)).collect(toSet()),
         devise);
   }
+
+  @Override
+  int nbModifications() {
+    return possessions.stream().mapToInt(Possession::nbModifications).sum();
+  }
+
+  @Override
+  public int valeurComptableProjetee(LocalDate tFutur, CompteurOperations compteur) {
+    return possessions.stream().mapToInt(p -> p.valeurComptableProjetee(tFutur, compteur)).sum();
+  }
 }
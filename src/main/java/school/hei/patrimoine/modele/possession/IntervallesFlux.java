@@ -0,0 +1,125 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.util.Comparator.comparing;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/* Arbre d'intervalles centré sur les fenêtres [debut, fin] d'un ensemble de flux :
+ * les flux actifs à une date ou sur une période s'obtiennent en O(log n + k).
+ * L'arbre est reconstruit à la première requête qui suit un ajout. */
+public final class IntervallesFlux implements Serializable {
+  private final Collection<FluxArgent> flux;
+  private transient volatile Noeud racine;
+
+  public IntervallesFlux(Collection<FluxArgent> flux) {
+    this.flux = flux;
+  }
+
+  public void invalide() {
+    racine = null;
+  }
+
+  public List<FluxArgent> actifsLe(LocalDate date) {
+    return actifsEntre(date, date);
+  }
+
+  public List<FluxArgent> actifsEntre(LocalDate debut, LocalDate fin) {
+    var actifs = new ArrayList<FluxArgent>();
+    if (!debut.isAfter(fin)) {
+      actifsEntre(racine(), debut, fin, actifs);
+    }
+    return actifs;
+  }
+
+  private static void actifsEntre(
+      Noeud noeud, LocalDate debut, LocalDate fin, List<FluxArgent> actifs) {
+    while (noeud != null) {
+      if (fin.isBefore(noeud.centre)) {
+        // toutes les fenêtres du nœud finissent après fin : reste à savoir si elles ont commencé
+        for (var f : noeud.parDebut) {
+          if (f.getDebut().isAfter(fin)) {
+            break;
+          }
+          actifs.add(f);
+        }
+        noeud = noeud.gauche;
+      } else if (debut.isAfter(noeud.centre)) {
+        for (var f : noeud.parFinDecroissante) {
+          if (f.getFin().isBefore(debut)) {
+            break;
+          }
+          actifs.add(f);
+        }
+        noeud = noeud.droite;
+      } else {
+        actifs.addAll(noeud.parDebut);
+        actifsEntre(noeud.gauche, debut, fin, actifs);
+        noeud = noeud.droite;
+      }
+    }
+  }
+
+  private Noeud racine() {
+    var racine = this.racine;
+    if (racine == null) {
+      synchronized (this) {
+        racine = this.racine;
+        if (racine == null) {
+          var fenetresNonVides =
+              flux.stream().filter(f -> !f.getDebut().isAfter(f.getFin())).toList();
+          racine = Noeud.construit(fenetresNonVides);
+          this.racine = racine;
+        }
+      }
+    }
+    return racine;
+  }
+
+  private static final class Noeud {
+    private final LocalDate centre;
+    private final List<FluxArgent> parDebut;
+    private final List<FluxArgent> parFinDecroissante;
+    private final Noeud gauche;
+    private final Noeud droite;
+
+    private Noeud(LocalDate centre, List<FluxArgent> contenant, Noeud gauche, Noeud droite) {
+      this.centre = centre;
+      this.parDebut = contenant.stream().sorted(comparing(FluxArgent::getDebut)).toList();
+      this.parFinDecroissante =
+          contenant.stream().sorted(comparing(FluxArgent::getFin).reversed()).toList();
+      this.gauche = gauche;
+      this.droite = droite;
+    }
+
+    private static Noeud construit(List<FluxArgent> flux) {
+      if (flux.isEmpty()) {
+        return null;
+      }
+      var bornes = new ArrayList<LocalDate>(2 * flux.size());
+      for (var f : flux) {
+        bornes.add(f.getDebut());
+        bornes.add(f.getFin());
+      }
+      bornes.sort(null);
+      var centre = bornes.get(bornes.size() / 2);
+
+      var avant = new ArrayList<FluxArgent>();
+      var apres = new ArrayList<FluxArgent>();
+      var contenant = new ArrayList<FluxArgent>();
+      for (var f : flux) {
+        if (f.getFin().isBefore(centre)) {
+          avant.add(f);
+        } else if (f.getDebut().isAfter(centre)) {
+          apres.add(f);
+        } else {
+          contenant.add(f);
+        }
+      }
+      return new Noeud(centre, contenant, construit(avant), construit(apres));
+    }
+  }
+}
@@ -5,11 +5,12 @@ import static java.time.temporal.ChronoUnit.DAYS;
 import static school.hei.patrimoine.modele.Devise.NON_NOMMEE;
 
 import java.time.LocalDate;
+import lombok.Getter;
 import school.hei.patrimoine.modele.Devise;
 
 public final class Materiel extends Possession {
-  private final LocalDate dateAcquisition;
-  private final double tauxDAppreciationAnnuelle;
+  @Getter private final LocalDate dateAcquisition;
+  @Getter private final double tauxDAppreciationAnnuelle;
 
   public Materiel(
       String nom,
@@ -33,15 +34,23 @@ public final class Materiel extends Possession {
   }
 
   @Override
-  public Possession projectionFuture(LocalDate tFutur) {
+  public Possession projectionFuture(LocalDate tFutur, CompteurOperations compteur) {
+    return new Materiel(
+        nom,
+        tFutur,
+        valeurComptableProjetee(tFutur, compteur),
+        dateAcquisition,
+        tauxDAppreciationAnnuelle,
+        devise);
+  }
+
+  @Override
+  public int valeurComptableProjetee(LocalDate tFutur, CompteurOperations compteur) {
     if (tFutur.isBefore(dateAcquisition)) {
-      return new Materiel(nom, tFutur, 0, dateAcquisition, tauxDAppreciationAnnuelle, devise);
+      return 0;
     }
     var joursEcoules = DAYS.between(t, tFutur);
     double valeurAjouteeJournaliere = valeurComptable * (tauxDAppreciationAnnuelle / 365.);
-    int valeurComptableFuture =
-        max(0, (int) (valeurComptable + valeurAjouteeJournaliere * joursEcoules));
-    return new Materiel(
-        nom, tFutur, valeurComptableFuture, dateAcquisition, tauxDAppreciationAnnuelle, devise);
+    return max(0, (int) (valeurComptable + valeurAjouteeJournaliere * joursEcoules));
   }
 }
@@ -9,6 +9,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.change.TauxDeChange;
 
 @ToString
 @EqualsAndHashCode
@@ -37,12 +38,29 @@ public abstract sealed class Possession implements Serializable /*note(no-serial
     return projectionFuture(tFutur).getValeurComptable(this.devise, tFutur);
   }
 
-  public abstract Possession projectionFuture(LocalDate tFutur);
+  public Possession projectionFuture(LocalDate tFutur) {
+    return projectionFuture(tFutur, FluxArgent::nbOperations);
+  }
+
+  public abstract Possession projectionFuture(LocalDate tFutur, CompteurOperations compteur);
+
+  public int valeurComptableProjetee(LocalDate tFutur, CompteurOperations compteur) {
+    return projectionFuture(tFutur, compteur).getValeurComptable();
+  }
 
   public final int getValeurComptable(Devise autreDevise, LocalDate tFutur) {
-    double valeurEnAriaryAutreDeviseATempsT = autreDevise.valeurEnAriary(tFutur);
+    return getValeurComptable(autreDevise, tFutur, TauxDeChange.COURANTS);
+  }
+
+  // change quand la possession ou l'une de ses composantes change : voir CacheProjections
+  int nbModifications() {
+    return 0;
+  }
+
+  public final int getValeurComptable(Devise autreDevise, LocalDate tFutur, TauxDeChange taux) {
+    double valeurEnAriaryAutreDeviseATempsT = taux.valeurEnAriary(autreDevise, tFutur);
     return (int)
-        ((this.valeurComptable * this.devise.valeurEnAriary(tFutur))
+        ((this.valeurComptable * taux.valeurEnAriary(this.devise, tFutur))
             / valeurEnAriaryAutreDeviseATempsT);
   }
 }
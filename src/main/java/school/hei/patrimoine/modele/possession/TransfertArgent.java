@@ -4,10 +4,11 @@ import static school.hei.patrimoine.modele.Devise.NON_NOMMEE;
 
 import java.time.LocalDate;
 import java.util.Set;
+import lombok.Getter;
 import school.hei.patrimoine.modele.Devise;
 
 public final class TransfertArgent extends Possession {
-  private final GroupePossession transfertCommeGroupe;
+  @Getter private final GroupePossession transfertCommeGroupe;
 
   public TransfertArgent(
       String nom,
@@ -59,7 +60,12 @@ public final class TransfertArgent extends Possession {
   }
 
   @Override
-  public Possession projectionFuture(LocalDate tFutur) {
-    return transfertCommeGroupe.projectionFuture(tFutur);
+  public Possession projectionFuture(LocalDate tFutur, CompteurOperations compteur) {
+    return transfertCommeGroupe.projectionFuture(tFutur, compteur);
+  }
+
+  @Override
+  public int valeurComptableProjetee(LocalDate tFutur, CompteurOperations compteur) {
+    return transfertCommeGroupe.valeurComptableProjetee(tFutur, compteur);
   }
 }
@@ -0,0 +1,83 @@
+package school.hei.patrimoine.serialisation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/* Entiers en varint (7 bits par octet, zigzag pour les signés), chaînes en UTF-8 préfixées
+ * de leur longueur, dates en nombre de jours depuis l'epoch. */
+final class Binaire {
+  private Binaire() {}
+
+  static void ecritTaille(DataOutput sortie, int taille) throws IOException {
+    ecritVarint(sortie, taille & 0xFFFFFFFFL);
+  }
+
+  static int litTaille(DataInput entree) throws IOException {
+    var taille = litVarint(entree);
+    if (taille < 0 || taille > Integer.MAX_VALUE) {
+      throw new IOException("Taille invalide : " + taille);
+    }
+    return (int) taille;
+  }
+
+  static void ecritLong(DataOutput sortie, long valeur) throws IOException {
+    ecritVarint(sortie, (valeur << 1) ^ (valeur >> 63));
+  }
+
+  static long litLong(DataInput entree) throws IOException {
+    var zigzag = litVarint(entree);
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+
+  static void ecritEntier(DataOutput sortie, int valeur) throws IOException {
+    ecritLong(sortie, valeur);
+  }
+
+  static int litEntier(DataInput entree) throws IOException {
+    return Math.toIntExact(litLong(entree));
+  }
+
+  static void ecritChaine(DataOutput sortie, String chaine) throws IOException {
+    var octets = chaine.getBytes(UTF_8);
+    ecritTaille(sortie, octets.length);
+    sortie.write(octets);
+  }
+
+  static String litChaine(DataInput entree) throws IOException {
+    var octets = new byte[litTaille(entree)];
+    entree.readFully(octets);
+    return new String(octets, UTF_8);
+  }
+
+  static void ecritDate(DataOutput sortie, LocalDate date) throws IOException {
+    ecritLong(sortie, date.toEpochDay());
+  }
+
+  static LocalDate litDate(DataInput entree) throws IOException {
+    return LocalDate.ofEpochDay(litLong(entree));
+  }
+
+  private static void ecritVarint(DataOutput sortie, long valeur) throws IOException {
+    while ((valeur & ~0x7FL) != 0) {
+      sortie.writeByte((int) ((valeur & 0x7F) | 0x80));
+      valeur >>>= 7;
+    }
+    sortie.writeByte((int) valeur);
+  }
+
+  private static long litVarint(DataInput entree) throws IOException {
+    var valeur = 0L;
+    for (int decalage = 0; decalage < 64; decalage += 7) {
+      var octet = entree.readUnsignedByte();
+      valeur |= (long) (octet & 0x7F) << decalage;
+      if ((octet & 0x80) == 0) {
+        return valeur;
+      }
+    }
+    throw new IOException("Varint trop long");
+  }
+}
@@ -0,0 +1,11 @@
+package school.hei.patrimoine.serialisation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface Codec<T> {
+  void ecrit(T objet, OutputStream sortie) throws IOException;
+
+  T lit(InputStream entree) throws IOException;
+}
@@ -0,0 +1,30 @@
+package school.hei.patrimoine.serialisation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/* note(no-serializable): Serializable is highly deprecated by
+ * Effective Java 3rd Edition Item 86.
+ * But it's also the less verbose solution. */
+public class CodecJava<T> implements Codec<T> {
+
+  @Override
+  public void ecrit(T objet, OutputStream sortie) throws IOException {
+    var oos = new ObjectOutputStream(sortie);
+    oos.writeObject(objet);
+    oos.flush();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T lit(InputStream entree) throws IOException {
+    try {
+      return (T) new ObjectInputStream(entree).readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+  }
+}
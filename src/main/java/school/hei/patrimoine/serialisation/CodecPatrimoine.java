@@ -0,0 +1,378 @@
+package school.hei.patrimoine.serialisation;
+
+import static java.util.Collections.newSetFromMap;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+import static school.hei.patrimoine.serialisation.Binaire.ecritChaine;
+import static school.hei.patrimoine.serialisation.Binaire.ecritDate;
+import static school.hei.patrimoine.serialisation.Binaire.ecritEntier;
+import static school.hei.patrimoine.serialisation.Binaire.ecritTaille;
+import static school.hei.patrimoine.serialisation.Binaire.litChaine;
+import static school.hei.patrimoine.serialisation.Binaire.litDate;
+import static school.hei.patrimoine.serialisation.Binaire.litEntier;
+import static school.hei.patrimoine.serialisation.Binaire.litTaille;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import school.hei.patrimoine.modele.Devise;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.AchatMaterielAuComptant;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.Possession;
+import school.hei.patrimoine.modele.possession.TransfertArgent;
+
+/* Format binaire d'un patrimoine : en-tête (magique, version), possesseur, nom et date,
+ * table des devises, puis chaque possession une seule fois, référencée par son rang.
+ * Les comptes viennent en premier, sans leurs flux : ce sont les flux, et les achats et transferts
+ * qui créent les leurs, qui se rattachent à leur compte en étant reconstruits. Chaque possession
+ * est préfixée de sa taille : une version ultérieure peut ajouter des champs à la fin,
+ * qu'une version antérieure saute. */
+public class CodecPatrimoine implements Codec<Patrimoine> {
+  static final int MAGIQUE = 0x50415452;
+  static final int VERSION = 1;
+
+  static final byte ARGENT = 1;
+  static final byte DETTE = 2;
+  static final byte CREANCE = 3;
+  static final byte MATERIEL = 4;
+  static final byte ACHAT = 5;
+  static final byte TRANSFERT = 6;
+  static final byte FLUX = 7;
+  static final byte GROUPE = 8;
+
+  // l'ordre d'itération d'un Set.of change d'une exécution à l'autre : on écrit dans celui-ci
+  private static final Comparator<Possession> ORDRE =
+      comparing((Possession p) -> p.getClass().getName())
+          .thenComparing(Possession::getNom)
+          .thenComparing(Possession::getT, nullsFirst(naturalOrder()))
+          .thenComparingInt(Possession::getValeurComptable);
+
+  @Override
+  public void ecrit(Patrimoine patrimoine, OutputStream sortie) throws IOException {
+    var donnees = new DataOutputStream(sortie);
+    donnees.writeInt(MAGIQUE);
+    ecritTaille(donnees, VERSION);
+    ecritChaine(donnees, patrimoine.possesseur().nom());
+    ecritChaine(donnees, patrimoine.nom());
+    ecritDate(donnees, patrimoine.t());
+    new Encodeur(patrimoine).ecrit(donnees);
+    donnees.flush();
+  }
+
+  @Override
+  public Patrimoine lit(InputStream entree) throws IOException {
+    var donnees = new DataInputStream(entree);
+    if (donnees.readInt() != MAGIQUE) {
+      throw new IOException("Ce n'est pas un patrimoine sérialisé");
+    }
+    var version = litTaille(donnees);
+    if (version > VERSION) {
+      throw new IOException("Version " + version + " plus récente que " + VERSION);
+    }
+    var possesseur = new Personne(litChaine(donnees));
+    var nom = litChaine(donnees);
+    var t = litDate(donnees);
+    return new Patrimoine(nom, possesseur, t, new Decodeur().lit(donnees));
+  }
+
+  // le groupe d'un achat ou d'un transfert, puis ses composantes dans un ordre reproductible
+  private static List<Possession> internes(Possession composite) {
+    var groupe =
+        composite instanceof AchatMaterielAuComptant achat
+            ? achat.getAchatCommeGroupe()
+            : ((TransfertArgent) composite).getTransfertCommeGroupe();
+    var internes = new ArrayList<Possession>();
+    internes.add(groupe);
+    internes.addAll(trie(groupe.getPossessions()));
+    return internes;
+  }
+
+  private static <P extends Possession> List<P> trie(Collection<P> possessions) {
+    return possessions.stream().sorted(ORDRE).toList();
+  }
+
+  private static final class Encodeur {
+    private final Set<Possession> vues = newSetFromMap(new IdentityHashMap<>());
+    private final Set<Possession> internes = newSetFromMap(new IdentityHashMap<>());
+    private final List<Argent> argents = new ArrayList<>();
+    private final List<Materiel> materiels = new ArrayList<>();
+    private final List<Possession> composites = new ArrayList<>();
+    private final List<FluxArgent> flux = new ArrayList<>();
+    private final List<GroupePossession> groupes = new ArrayList<>();
+    private final List<Possession> racines;
+
+    private final Map<Possession, Integer> rangs = new IdentityHashMap<>();
+    private final Map<Devise, Integer> devises = new HashMap<>();
+    private final ByteArrayOutputStream tampon = new ByteArrayOutputStream();
+    private final DataOutputStream charge = new DataOutputStream(tampon);
+
+    private Encodeur(Patrimoine patrimoine) {
+      racines = trie(patrimoine.possessions());
+      racines.forEach(this::visite);
+    }
+
+    private void visite(Possession possession) {
+      if (!vues.add(possession)) {
+        return;
+      }
+      devises.putIfAbsent(possession.getDevise(), devises.size());
+      switch (possession) {
+        case Argent argent -> {
+          argents.add(argent);
+          trie(argent.getFluxArgents()).forEach(this::visite);
+        }
+        case FluxArgent fluxArgent -> {
+          flux.add(fluxArgent);
+          visite(fluxArgent.getArgent());
+        }
+        case Materiel materiel -> materiels.add(materiel);
+        case AchatMaterielAuComptant achat -> visiteComposite(achat);
+        case TransfertArgent transfert -> visiteComposite(transfert);
+        case GroupePossession groupe -> {
+          trie(groupe.getPossessions()).forEach(this::visite);
+          groupes.add(groupe);
+        }
+      }
+    }
+
+    private void visiteComposite(Possession composite) {
+      composites.add(composite);
+      for (var interne : internes(composite)) {
+        internes.add(interne);
+        devises.putIfAbsent(interne.getDevise(), devises.size());
+        if (interne instanceof FluxArgent fluxArgent) {
+          visite(fluxArgent.getArgent());
+        }
+      }
+    }
+
+    private void ecrit(DataOutputStream sortie) throws IOException {
+      var devisesParRang = new Devise[devises.size()];
+      devises.forEach((devise, rang) -> devisesParRang[rang] = devise);
+      ecritTaille(sortie, devisesParRang.length);
+      for (var devise : devisesParRang) {
+        ecritChaine(sortie, devise.nom());
+        ecritEntier(sortie, devise.valeurEnAriary());
+        ecritDate(sortie, devise.t());
+        sortie.writeDouble(devise.tauxDappréciationAnnuel());
+      }
+
+      var ordre = new ArrayList<Possession>(argents);
+      materiels.stream().filter(m -> !internes.contains(m)).forEach(ordre::add);
+      ordre.addAll(composites);
+      flux.stream().filter(f -> !internes.contains(f)).forEach(ordre::add);
+      groupes.stream().filter(g -> !internes.contains(g)).forEach(ordre::add);
+      ecritTaille(sortie, ordre.size());
+      for (var possession : ordre) {
+        tampon.reset();
+        sortie.writeByte(ecritCharge(possession));
+        ecritTaille(sortie, tampon.size());
+        tampon.writeTo(sortie);
+        rangs.put(possession, rangs.size());
+        if (possession instanceof AchatMaterielAuComptant
+            || possession instanceof TransfertArgent) {
+          for (var interne : internes(possession)) {
+            rangs.put(interne, rangs.size());
+          }
+        }
+      }
+
+      ecritTaille(sortie, racines.size());
+      for (var racine : racines) {
+        ecritTaille(sortie, rangs.get(racine));
+      }
+    }
+
+    private byte ecritCharge(Possession possession) throws IOException {
+      ecritChaine(charge, possession.getNom());
+      var tag =
+          switch (possession) {
+            case Dette dette -> ecritDetteOuCreance(dette, DETTE);
+            case Creance creance -> ecritDetteOuCreance(creance, CREANCE);
+            case Argent argent -> {
+              ecritDate(charge, argent.getDateOuverture());
+              ecritDate(charge, argent.getT());
+              ecritEntier(charge, argent.getValeurComptable());
+              yield ARGENT;
+            }
+            case Materiel materiel -> {
+              ecritDate(charge, materiel.getT());
+              ecritEntier(charge, materiel.getValeurComptable());
+              ecritDate(charge, materiel.getDateAcquisition());
+              charge.writeDouble(materiel.getTauxDAppreciationAnnuelle());
+              yield MATERIEL;
+            }
+            case AchatMaterielAuComptant achat -> {
+              var internes = internes(achat);
+              ecritDate(charge, achat.getT());
+              ecritEntier(charge, achat.getValeurComptable());
+              charge.writeDouble(((Materiel) internes.get(2)).getTauxDAppreciationAnnuelle());
+              ecritTaille(charge, rangs.get(((FluxArgent) internes.get(1)).getArgent()));
+              yield ACHAT;
+            }
+            case TransfertArgent transfert -> {
+              var internes = internes(transfert);
+              var entrant = (FluxArgent) internes.get(1);
+              var sortant = (FluxArgent) internes.get(2);
+              ecritTaille(charge, rangs.get(sortant.getArgent()));
+              ecritTaille(charge, rangs.get(entrant.getArgent()));
+              ecritFenetre(entrant);
+              yield TRANSFERT;
+            }
+            case FluxArgent fluxArgent -> {
+              ecritTaille(charge, rangs.get(fluxArgent.getArgent()));
+              ecritFenetre(fluxArgent);
+              yield FLUX;
+            }
+            case GroupePossession groupe -> {
+              ecritDate(charge, groupe.getT());
+              ecritTaille(charge, groupe.getPossessions().size());
+              for (var composante : trie(groupe.getPossessions())) {
+                ecritTaille(charge, rangs.get(composante));
+              }
+              yield GROUPE;
+            }
+          };
+      ecritTaille(charge, devises.get(possession.getDevise()));
+      return tag;
+    }
+
+    private byte ecritDetteOuCreance(Argent argent, byte tag) throws IOException {
+      ecritDate(charge, argent.getT());
+      ecritEntier(charge, argent.getValeurComptable());
+      return tag;
+    }
+
+    private void ecritFenetre(FluxArgent fluxArgent) throws IOException {
+      ecritDate(charge, fluxArgent.getDebut());
+      ecritDate(charge, fluxArgent.getFin());
+      ecritEntier(charge, fluxArgent.getFluxMensuel());
+      ecritEntier(charge, fluxArgent.getDateOperation());
+    }
+  }
+
+  private static final class Decodeur {
+    private final List<Possession> possessions = new ArrayList<>();
+    private Devise[] devises;
+
+    private Set<Possession> lit(DataInputStream entree) throws IOException {
+      devises = new Devise[litTaille(entree)];
+      for (int d = 0; d < devises.length; d++) {
+        devises[d] =
+            new Devise(litChaine(entree), litEntier(entree), litDate(entree), entree.readDouble());
+      }
+
+      var nbPossessions = litTaille(entree);
+      for (int p = 0; p < nbPossessions; p++) {
+        var tag = entree.readByte();
+        var charge = new byte[litTaille(entree)];
+        entree.readFully(charge);
+        // les champs ajoutés par une version ultérieure restent non lus à la fin de la charge
+        var possession = litCharge(tag, new DataInputStream(new ByteArrayInputStream(charge)));
+        possessions.add(possession);
+        if (possession instanceof AchatMaterielAuComptant
+            || possession instanceof TransfertArgent) {
+          possessions.addAll(internes(possession));
+        }
+      }
+
+      var racines = new HashSet<Possession>();
+      var nbRacines = litTaille(entree);
+      for (int r = 0; r < nbRacines; r++) {
+        racines.add(possession(entree));
+      }
+      return racines;
+    }
+
+    private Possession litCharge(byte tag, DataInput charge) throws IOException {
+      var nom = litChaine(charge);
+      return switch (tag) {
+        case ARGENT -> {
+          var dateOuverture = litDate(charge);
+          var t = litDate(charge);
+          var valeur = litEntier(charge);
+          yield new Argent(nom, dateOuverture, t, valeur, devise(charge));
+        }
+        case DETTE -> new Dette(nom, litDate(charge), litEntier(charge), devise(charge));
+        case CREANCE -> new Creance(nom, litDate(charge), litEntier(charge), devise(charge));
+        case MATERIEL -> {
+          var t = litDate(charge);
+          var valeur = litEntier(charge);
+          var dateAcquisition = litDate(charge);
+          var taux = charge.readDouble();
+          yield new Materiel(nom, t, valeur, dateAcquisition, taux, devise(charge));
+        }
+        case ACHAT -> {
+          var dateAchat = litDate(charge);
+          var valeur = litEntier(charge);
+          var taux = charge.readDouble();
+          var financeur = (Argent) possession(charge);
+          yield new AchatMaterielAuComptant(
+              nom, dateAchat, valeur, taux, financeur, devise(charge));
+        }
+        case TRANSFERT -> {
+          var depuis = (Argent) possession(charge);
+          var vers = (Argent) possession(charge);
+          var debut = litDate(charge);
+          var fin = litDate(charge);
+          var fluxMensuel = litEntier(charge);
+          var dateOperation = litEntier(charge);
+          yield new TransfertArgent(
+              nom, depuis, vers, debut, fin, fluxMensuel, dateOperation, devise(charge));
+        }
+        case FLUX -> {
+          var argent = (Argent) possession(charge);
+          var debut = litDate(charge);
+          var fin = litDate(charge);
+          var fluxMensuel = litEntier(charge);
+          var dateOperation = litEntier(charge);
+          yield new FluxArgent(nom, argent, debut, fin, fluxMensuel, dateOperation, devise(charge));
+        }
+        case GROUPE -> {
+          var t = litDate(charge);
+          var composantes = new HashSet<Possession>();
+          var nbComposantes = litTaille(charge);
+          for (int c = 0; c < nbComposantes; c++) {
+            composantes.add(possession(charge));
+          }
+          yield new GroupePossession(nom, t, composantes, devise(charge));
+        }
+        default -> throw new IOException("Possession de type inconnu : " + tag);
+      };
+    }
+
+    private Possession possession(DataInput entree) throws IOException {
+      var rang = litTaille(entree);
+      if (rang >= possessions.size()) {
+        throw new IOException("Référence à une possession pas encore lue : " + rang);
+      }
+      return possessions.get(rang);
+    }
+
+    private Devise devise(DataInput entree) throws IOException {
+      return devises[litTaille(entree)];
+    }
+  }
+}
@@ -1,32 +1,138 @@
 package school.hei.patrimoine.serialisation;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.util.Base64;
 import lombok.SneakyThrows;
 
-/* note(no-serializable): Serializable is highly deprecated by
- * Effective Java 3rd Edition Item 86.
- * But it's also the less verbose solution. */
+/* Écrit et lit en flux, à travers un tampon borné : la taille de l'objet ne se retrouve en
+ * mémoire qu'à travers l'objet lui-même. Le Base64 n'est qu'une enveloppe optionnelle,
+ * gardée pour serialise et deserialise qui produisent et consomment une chaîne. */
 public class Serialiseur<T> {
+  static final int TAILLE_TAMPON = 64 * 1024;
+
+  private final Codec<T> codec;
+
+  public Serialiseur() {
+    this(new CodecJava<>());
+  }
+
+  public Serialiseur(Codec<T> codec) {
+    this.codec = codec;
+  }
+
+  public void ecrit(T objet, OutputStream sortie) throws IOException {
+    var tampon = new BufferedOutputStream(sortie, TAILLE_TAMPON);
+    codec.ecrit(objet, tampon);
+    tampon.flush();
+  }
+
+  /* Le tampon lit d'avance : le flux n'est plus utilisable après l'objet lu. */
+  public T lit(InputStream entree) throws IOException {
+    return codec.lit(new BufferedInputStream(entree, TAILLE_TAMPON));
+  }
+
+  public void ecritEnBase64(T objet, OutputStream sortie) throws IOException {
+    try (var base64 = Base64.getEncoder().wrap(new NonFermant(sortie))) {
+      ecrit(objet, base64);
+    }
+  }
+
+  public T litEnBase64(InputStream entree) throws IOException {
+    return lit(Base64.getDecoder().wrap(entree));
+  }
+
+  /* Écrit à partir de la position courante du canal, qui avance d'autant. */
+  public void ecrit(T objet, FileChannel canal) throws IOException {
+    ecrit(objet, Channels.newOutputStream(canal));
+  }
+
+  /* Lit à partir de la position courante du canal, et la laisse juste après l'objet lu
+   * malgré les octets lus d'avance par le tampon : plusieurs objets peuvent se suivre. */
+  public T lit(FileChannel canal) throws IOException {
+    var debut = canal.position();
+    var compteur =
+        new Compteur(new BufferedInputStream(Channels.newInputStream(canal), TAILLE_TAMPON));
+    var objet = codec.lit(compteur);
+    canal.position(debut + compteur.lus);
+    return objet;
+  }
 
   @SneakyThrows
   public String serialise(T object) {
-    try (var bos = new ByteArrayOutputStream();
-        ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-      oos.writeObject(object);
-      return Base64.getEncoder().encodeToString(bos.toByteArray());
-    }
+    var base64 = new ByteArrayOutputStream();
+    ecritEnBase64(object, base64);
+    return base64.toString(ISO_8859_1);
   }
 
   @SneakyThrows
   public T deserialise(String serialisé) {
-    var bytes = Base64.getDecoder().decode(serialisé);
-    try (var bis = new ByteArrayInputStream(bytes);
-        var ois = new ObjectInputStream(bis)) {
-      return (T) ois.readObject();
+    return litEnBase64(new ByteArrayInputStream(serialisé.getBytes(ISO_8859_1)));
+  }
+
+  // fermer l'enveloppe Base64 écrit son remplissage, mais l'appelant reste propriétaire du flux
+  private static final class NonFermant extends FilterOutputStream {
+    private NonFermant(OutputStream sortie) {
+      super(sortie);
+    }
+
+    @Override
+    public void write(byte[] octets, int debut, int longueur) throws IOException {
+      out.write(octets, debut, longueur);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+
+  private static final class Compteur extends FilterInputStream {
+    private long lus;
+
+    private Compteur(InputStream entree) {
+      super(entree);
+    }
+
+    @Override
+    public int read() throws IOException {
+      var octet = in.read();
+      if (octet >= 0) {
+        lus++;
+      }
+      return octet;
+    }
+
+    @Override
+    public int read(byte[] octets, int debut, int longueur) throws IOException {
+      var nbLus = in.read(octets, debut, longueur);
+      if (nbLus > 0) {
+        lus += nbLus;
+      }
+      return nbLus;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      var sautes = in.skip(n);
+      lus += sautes;
+      return sautes;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
     }
   }
 }
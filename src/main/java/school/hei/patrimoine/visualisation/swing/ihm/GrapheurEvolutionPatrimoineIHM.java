@@ -15,7 +15,8 @@ public class GrapheurEvolutionPatrimoineIHM extends JPanel implements Observer {
 
   public GrapheurEvolutionPatrimoineIHM(PatrimoinesVisualisables patrimoinesVisualisables) {
     super();
-    this.grapheurEvolutionPatrimoine = new GrapheurEvolutionPatrimoine();
+    this.grapheurEvolutionPatrimoine =
+        new GrapheurEvolutionPatrimoine(GrapheurEvolutionPatrimoine.LARGEUR);
 
     this.patrimoinesVisualisables = patrimoinesVisualisables;
     this.patrimoinesVisualisables.addObserver(this);
@@ -2,13 +2,20 @@ package school.hei.patrimoine.visualisation.swing.modele;
 
 import static java.time.LocalDate.now;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Observable;
 import school.hei.patrimoine.modele.EvolutionPatrimoine;
 import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.evolution.Evaluateur;
+import school.hei.patrimoine.modele.evolution.EvaluateurPersistant;
 
 public class PatrimoinesVisualisables extends Observable {
+  // d'un lancement à l'autre, un patrimoine inchangé s'affiche sans être réévalué ;
+  // dans le dossier de l'utilisateur et non dans le dossier temporaire partagé
+  private static final Evaluateur EVALUATEUR =
+      new EvaluateurPersistant(Path.of(System.getProperty("user.home"), ".patrimoine", "series"));
 
   private final List<Patrimoine> patrimoines;
   private Patrimoine patrimoineSélectionné;
@@ -52,6 +59,10 @@ public class PatrimoinesVisualisables extends Observable {
 
   public EvolutionPatrimoine getEvolutionPatrimoine() {
     return new EvolutionPatrimoine(
-        patrimoineSélectionné.nom(), patrimoineSélectionné, débutEvolution, finEvolution);
+        patrimoineSélectionné.nom(),
+        patrimoineSélectionné,
+        débutEvolution,
+        finEvolution,
+        EVALUATEUR);
   }
 }
@@ -10,50 +10,72 @@ import static org.knowm.xchart.style.markers.SeriesMarkers.NONE;
 
 import java.io.File;
 import java.text.DecimalFormat;
-import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 import lombok.SneakyThrows;
 import org.knowm.xchart.XYChart;
 import org.knowm.xchart.XYChartBuilder;
 import org.knowm.xchart.style.theme.MatlabTheme;
 import school.hei.patrimoine.modele.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.evolution.SeriesJournalieres;
+import school.hei.patrimoine.modele.evolution.SousEchantillonnage;
 
 public class GrapheurEvolutionPatrimoine implements Function<EvolutionPatrimoine, File> {
 
+  public static final int LARGEUR = 800;
   private static final int DPI = 300;
 
-  private static void configureSeries(EvolutionPatrimoine evolutionPatrimoine, XYChart chart) {
-    var dates = evolutionPatrimoine.dates().toList();
-    var seriesParPossession = evolutionPatrimoine.serieValeursComptablesParPossession();
-    seriesParPossession
-        .keySet()
-        .forEach(
-            possession ->
-                addSerie(chart, possession.getNom(), dates, seriesParPossession.get(possession)));
-    addSerie(chart, "Patrimoine", dates, evolutionPatrimoine.serieValeursComptablesPatrimoine());
+  private final int nbPointsMax;
+
+  public GrapheurEvolutionPatrimoine() {
+    this(Integer.MAX_VALUE);
+  }
+
+  // au-delà de nbPointsMax jours, chaque série est sous-échantillonnée à nbPointsMax points
+  public GrapheurEvolutionPatrimoine(int nbPointsMax) {
+    if (nbPointsMax < 3) {
+      throw new IllegalArgumentException("Il faut garder au moins 3 points, pas " + nbPointsMax);
+    }
+    this.nbPointsMax = nbPointsMax;
   }
 
-  private static void addSerie(
-      XYChart chart, String nom, List<LocalDate> localDates, List<Integer> values) {
-    if (values.stream().allMatch(value -> value == 0)) {
+  private void configureSeries(EvolutionPatrimoine evolutionPatrimoine, XYChart chart) {
+    var series = evolutionPatrimoine.getSeries();
+    var possessions = series.getPossessions();
+    for (int i = 0; i < possessions.size(); i++) {
+      addSerie(chart, possessions.get(i).getNom(), series, series.serie(i));
+    }
+    addSerie(chart, "Patrimoine", series, series.totaux());
+  }
+
+  // seuls les jours gardés sont convertis en dates et en entiers objets
+  private void addSerie(XYChart chart, String nom, SeriesJournalieres series, int[] values) {
+    if (Arrays.stream(values).allMatch(value -> value == 0)) {
       return;
     }
 
-    var dates =
-        localDates.stream()
-            .map(localDate -> Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant()))
-            .toList();
-    var serie = chart.addSeries(nom, dates, values);
+    var jours =
+        values.length > nbPointsMax
+            ? SousEchantillonnage.joursGardes(values, nbPointsMax)
+            : IntStream.range(0, values.length).toArray();
+    var x = new ArrayList<Date>(jours.length);
+    var y = new ArrayList<Integer>(jours.length);
+    for (var jour : jours) {
+      x.add(Date.from(series.date(jour).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+      y.add(values[jour]);
+    }
+    var serie = chart.addSeries(nom, x, y);
     serie.setMarker(NONE);
   }
 
   @SneakyThrows
   @Override
   public File apply(EvolutionPatrimoine evolutionPatrimoine) {
-    XYChart chart = new XYChartBuilder().width(800).height(600).build();
+    XYChart chart = new XYChartBuilder().width(LARGEUR).height(600).build();
     configureStyle(chart);
     configureSeries(evolutionPatrimoine, chart);
 
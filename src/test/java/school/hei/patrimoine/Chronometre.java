@@ -0,0 +1,21 @@
+package school.hei.patrimoine;
+
+import java.util.function.Supplier;
+
+/* Pour les benchmarks : le meilleur de plusieurs mesures écarte le bruit de la JIT et du GC.
+ * Le résultat de chaque mesure est gardé pour que la JIT ne puisse pas l'élaguer. */
+public final class Chronometre {
+  private static volatile Object dernierResultat;
+
+  private Chronometre() {}
+
+  public static long meilleurTempsMs(int iterations, Supplier<?> mesure) {
+    var meilleur = Long.MAX_VALUE;
+    for (int i = 0; i < iterations; i++) {
+      var debut = System.nanoTime();
+      dernierResultat = mesure.get();
+      meilleur = Math.min(meilleur, System.nanoTime() - debut);
+    }
+    return meilleur / 1_000_000;
+  }
+}
@@ -0,0 +1,63 @@
+package school.hei.patrimoine.cas;
+
+import static java.time.Month.JANUARY;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.Possession;
+
+public class PatrimoineNombreuxFluxCas implements Supplier<Patrimoine> {
+  public static final LocalDate AU_1ER_JANVIER_2024 = LocalDate.of(2024, JANUARY, 1);
+
+  private final int nbComptes;
+  private final int nbFluxParCompte;
+  private final long graine;
+
+  public PatrimoineNombreuxFluxCas(int nbComptes, int nbFluxParCompte, long graine) {
+    this.nbComptes = nbComptes;
+    this.nbFluxParCompte = nbFluxParCompte;
+    this.graine = graine;
+  }
+
+  @Override
+  public Patrimoine get() {
+    var aleatoire = new Random(graine);
+    Set<Possession> possessions = new HashSet<>();
+    for (int c = 0; c < nbComptes; c++) {
+      var compte =
+          new Argent(
+              "Compte " + c,
+              AU_1ER_JANVIER_2024.plusDays(aleatoire.nextInt(400)),
+              AU_1ER_JANVIER_2024,
+              aleatoire.nextInt(1_000_000));
+      for (int f = 0; f < nbFluxParCompte; f++) {
+        var debut = AU_1ER_JANVIER_2024.plusDays(aleatoire.nextInt(3_000) - 500);
+        new FluxArgent(
+            "Flux " + c + "." + f,
+            compte,
+            debut,
+            debut.plusDays(aleatoire.nextInt(10_000)),
+            aleatoire.nextInt(20_000) - 10_000,
+            1 + aleatoire.nextInt(31));
+      }
+      possessions.add(compte);
+      possessions.add(
+          new Materiel(
+              "Materiel " + c,
+              AU_1ER_JANVIER_2024,
+              aleatoire.nextInt(5_000_000),
+              AU_1ER_JANVIER_2024.plusDays(aleatoire.nextInt(1_000)),
+              aleatoire.nextDouble() - 0.5));
+    }
+    return new Patrimoine(
+        "Nombreux flux", new Personne("Cresus"), AU_1ER_JANVIER_2024, possessions);
+  }
+}
@@ -1,13 +1,28 @@
 package school.hei.patrimoine.modele;
 
+import static java.time.Month.JULY;
+import static java.time.Month.JUNE;
 import static java.time.Month.MAY;
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.modele.Devise.CAD;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.change.TauxCalcules;
 import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
 import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.Materiel;
 
 class EvolutionPatrimoineTest {
 
@@ -47,4 +62,115 @@ class EvolutionPatrimoineTest {
     assertEquals(
         500_000, evolutionJournaliere.get(LocalDate.of(2024, MAY, 17)).getValeurComptable());
   }
+
+  @Test
+  void flux_impossibles_sont_rapportes_le_jour_de_l_operation() {
+    var ilo = new Personne("Ilo");
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var financeur = new Argent("Espèces", au13mai24, 150_000);
+    var trainDeVie =
+        new FluxArgent(
+            "Vie courante",
+            financeur,
+            au13mai24.minusDays(100),
+            au13mai24.plusDays(100),
+            -100_000,
+            15);
+    var creance = new Creance("Prêt à Rado", au13mai24, 50_000);
+    var patrimoineIloAu13mai24 =
+        new Patrimoine(
+            "patrimoineIloAu13mai24", ilo, au13mai24, Set.of(financeur, trainDeVie, creance));
+
+    var evolutionPatrimoine =
+        new EvolutionPatrimoine(
+            "Nom", patrimoineIloAu13mai24, au13mai24, LocalDate.of(2024, JULY, 20));
+
+    var au15juin24 = LocalDate.of(2024, JUNE, 15);
+    var au15juillet24 = LocalDate.of(2024, JULY, 15);
+    assertEquals(
+        Set.of(
+            new FluxImpossibles(au15juin24, "Espèces", -50_000, Set.of(trainDeVie)),
+            new FluxImpossibles(au15juillet24, "Espèces", -150_000, Set.of(trainDeVie))),
+        evolutionPatrimoine.getFluxImpossibles());
+    var fluxImpossiblesStr = evolutionPatrimoine.fluxImpossiblesStr();
+    assertTrue(fluxImpossiblesStr.indexOf("2024-06-15") < fluxImpossiblesStr.indexOf("2024-07-15"));
+    assertTrue(fluxImpossiblesStr.contains("fin=2024-07-15"));
+    assertEquals(
+        List.of(200_000, 200_000, 100_000),
+        evolutionPatrimoine.serieValeursComptablesPatrimoine().subList(0, 3));
+    assertEquals(
+        50_000, evolutionPatrimoine.serieValeursComptablesParPossession().get(creance).get(0));
+  }
+
+  @Test
+  void evolution_est_calculee_a_la_demande() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var dette = new Dette("Dette", au13mai24, -1_000);
+    new FluxArgent("Remboursement en trop", dette, au13mai24.plusDays(2), 2_000);
+    var patrimoineQuiNeSeProjettePas =
+        new Patrimoine("Ilo", new Personne("Ilo"), au13mai24, Set.of(dette));
+
+    var evolutionPatrimoine =
+        new EvolutionPatrimoine(
+            "Nom", patrimoineQuiNeSeProjettePas, au13mai24, au13mai24.plusDays(10));
+
+    assertThrows(IllegalArgumentException.class, evolutionPatrimoine::getSeries);
+  }
+
+  @Test
+  void projections_journalieres_sont_produites_en_flux() {
+    var ilo = new Personne("Ilo");
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var financeur = new Argent("Espèces", au13mai24, 600_000);
+    new FluxArgent("Salaire", financeur, au13mai24, au13mai24.plusYears(30), 100_000, 1);
+    var patrimoine = new Patrimoine("Ilo", ilo, au13mai24, Set.of(financeur));
+    var dans30ans = au13mai24.plusYears(30);
+
+    var evolutionPatrimoine = new EvolutionPatrimoine("Nom", patrimoine, au13mai24, dans30ans);
+
+    assertEquals(
+        evolutionPatrimoine.dates().toList(),
+        evolutionPatrimoine.projectionsJournalieres().map(Patrimoine::t).toList());
+    var derniere =
+        evolutionPatrimoine
+            .projectionsJournalieres()
+            .reduce((precedente, suivante) -> suivante)
+            .orElseThrow();
+    assertEquals(dans30ans, derniere.t());
+    assertEquals(600_000 + 360 * 100_000, derniere.getValeurComptable());
+  }
+
+  @Test
+  void serie_du_patrimoine_convertie_dans_une_autre_devise() {
+    var ilo = new Personne("Ilo");
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var compteEnEuro = new Argent("Compte en euro", au13mai24, 1_000, EUR);
+    new FluxArgent("Salaire", compteEnEuro, au13mai24, au13mai24.plusYears(1), 2_000, 28);
+    var patrimoine =
+        new Patrimoine(
+            "Ilo",
+            ilo,
+            au13mai24,
+            Set.of(
+                compteEnEuro,
+                new Materiel("Voiture", au13mai24, 20_000, au13mai24, -0.2, CAD),
+                new Argent("Espèces", au13mai24, 3_000_000, MGA)));
+    var taux = new TauxCalcules(Clock.fixed(au13mai24.atStartOfDay().toInstant(UTC), UTC));
+    var evolutionPatrimoine =
+        new EvolutionPatrimoine("Nom", patrimoine, au13mai24, au13mai24.plusYears(2));
+
+    var serieEnEuro = evolutionPatrimoine.serieValeursComptablesPatrimoine(EUR, taux);
+    var serieEnAriary = evolutionPatrimoine.serieValeursComptablesPatrimoine(MGA, taux);
+
+    var dates = evolutionPatrimoine.dates().toList();
+    assertEquals(dates.size(), serieEnEuro.length);
+    for (int jour = 0; jour < dates.size(); jour += 7) {
+      var projection = patrimoine.projectionFuture(dates.get(jour));
+      assertEquals(projection.getValeurComptable(EUR, taux), serieEnEuro[jour]);
+      assertEquals(projection.getValeurComptable(MGA, taux), serieEnAriary[jour]);
+    }
+    assertEquals(3, evolutionPatrimoine.getSousTotauxParDevise().size());
+    evolutionPatrimoine.getSousTotauxParDevise().get(EUR)[0] = 0;
+    assertArrayEquals(serieEnEuro, evolutionPatrimoine.serieValeursComptablesPatrimoine(EUR, taux));
+  }
 }
@@ -2,10 +2,12 @@ package school.hei.patrimoine.modele;
 
 import static java.time.Month.MAY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static school.hei.patrimoine.modele.Devise.MGA;
 
 import java.time.LocalDate;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import school.hei.patrimoine.modele.possession.Argent;
@@ -129,4 +131,73 @@ class PatrimoineTest {
                       "un autre groupe", au13mai24, Set.of(financeur, trainDeVie), MGA)));
         });
   }
+
+  @Test
+  void possession_par_nom_dans_le_patrimoine_et_ses_projections() {
+    var ilo = new Personne("Ilo");
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var financeur = new Argent("Espèces", au13mai24, 600_000);
+    var trainDeVie =
+        new FluxArgent("Vie courante", financeur, au13mai24, au13mai24.plusDays(100), -100_000, 15);
+    var patrimoineIloAu13mai24 =
+        new Patrimoine("patrimoineIloAu13mai24", ilo, au13mai24, Set.of(financeur, trainDeVie));
+
+    assertEquals(financeur, patrimoineIloAu13mai24.possessionParNom("Espèces"));
+    var auJuillet = patrimoineIloAu13mai24.projectionFuture(au13mai24.plusDays(60));
+    assertEquals(400_000, auJuillet.possessionParNom("Espèces").getValeurComptable());
+    var auSeptembre = auJuillet.projectionFuture(au13mai24.plusDays(120));
+    assertEquals(auJuillet.t().plusDays(60), auSeptembre.possessionParNom("Espèces").getT());
+    assertEquals("Vie courante", auSeptembre.possessionParNom("Vie courante").getNom());
+    assertThrows(NoSuchElementException.class, () -> auSeptembre.possessionParNom("Inconnu"));
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> auSeptembre.possessions().add(new Argent("Autre", au13mai24, 0)));
+  }
+
+  @Test
+  void possessions_de_meme_nom_sont_detectees() {
+    var ilo = new Personne("Ilo");
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var patrimoineIloAu13mai24 =
+        new Patrimoine(
+            "patrimoineIloAu13mai24",
+            ilo,
+            au13mai24,
+            Set.of(
+                new Argent("Espèces", au13mai24, 400_000),
+                new Argent("Espèces", au13mai24.minusDays(10), au13mai24, 200_000)));
+
+    assertThrows(
+        IllegalArgumentException.class, () -> patrimoineIloAu13mai24.possessionParNom("Espèces"));
+    var projection = patrimoineIloAu13mai24.projectionFuture(au13mai24.plusDays(1));
+    assertEquals(2, projection.possessions().size());
+    assertEquals(600_000, projection.getValeurComptable());
+  }
+
+  @Test
+  void projection_reprend_les_possessions_inchangees() {
+    var ilo = new Personne("Ilo");
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var financeur = new Argent("Espèces", au13mai24, 600_000);
+    var salaire =
+        new FluxArgent("Salaire", financeur, au13mai24.plusDays(30), au13mai24.plusYears(1), 1, 1);
+    var patrimoine = new Patrimoine("Ilo", ilo, au13mai24, Set.of(financeur, salaire));
+
+    var demain = patrimoine.projectionFuture(au13mai24.plusDays(1));
+    assertSame(salaire, demain.possessionParNom("Salaire"));
+    var apresDemain = demain.projectionFuture(au13mai24.plusDays(2));
+    assertSame(salaire, apresDemain.possessionParNom("Salaire"));
+
+    var fluxSeuls = new Patrimoine("Ilo", ilo, au13mai24, Set.of(salaire));
+    assertSame(
+        fluxSeuls.possessions(), fluxSeuls.projectionFuture(au13mai24.plusDays(1)).possessions());
+
+    var dansDeuxMois =
+        (FluxArgent)
+            patrimoine.projectionFuture(au13mai24.plusDays(60)).possessionParNom("Salaire");
+    var dansTroisMois =
+        (FluxArgent)
+            patrimoine.projectionFuture(au13mai24.plusDays(90)).possessionParNom("Salaire");
+    assertSame(dansDeuxMois.getArgent().getNom(), dansTroisMois.getArgent().getNom());
+  }
 }
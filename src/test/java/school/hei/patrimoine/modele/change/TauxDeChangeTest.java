@@ -0,0 +1,110 @@
+package school.hei.patrimoine.modele.change;
+
+import static java.time.Month.JANUARY;
+import static java.time.Month.JULY;
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static school.hei.patrimoine.modele.Devise.CAD;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Materiel;
+
+class TauxDeChangeTest {
+  private static final LocalDate AU_1ER_JANVIER_2025 = LocalDate.of(2025, JANUARY, 1);
+  private static final TauxCalcules TAUX_AU_1ER_JANVIER_2025 =
+      new TauxCalcules(Clock.fixed(AU_1ER_JANVIER_2025.atStartOfDay().toInstant(UTC), UTC));
+
+  @Test
+  void taux_calcules_dependent_de_l_horloge_et_non_du_jour_courant() {
+    var au3juillet24 = LocalDate.of(2024, JULY, 3);
+
+    assertEquals(
+        EUR.valeurEnAriary(au3juillet24, AU_1ER_JANVIER_2025),
+        TAUX_AU_1ER_JANVIER_2025.valeurEnAriary(EUR, au3juillet24));
+    assertEquals(4_580, TAUX_AU_1ER_JANVIER_2025.valeurEnAriary(EUR, au3juillet24));
+    assertEquals(4_821, TAUX_AU_1ER_JANVIER_2025.valeurEnAriary(EUR, AU_1ER_JANVIER_2025));
+    assertEquals(1, TAUX_AU_1ER_JANVIER_2025.valeurEnAriary(MGA, au3juillet24));
+  }
+
+  @Test
+  void table_de_change_rend_le_dernier_taux_observe() {
+    var table =
+        new TableDeChange(
+            Map.of(
+                EUR, Map.of(AU_1ER_JANVIER_2025, 4_900., AU_1ER_JANVIER_2025.plusDays(10), 4_950.)),
+            TAUX_AU_1ER_JANVIER_2025);
+
+    assertEquals(4_900, table.valeurEnAriary(EUR, AU_1ER_JANVIER_2025));
+    assertEquals(4_900, table.valeurEnAriary(EUR, AU_1ER_JANVIER_2025.plusDays(9)));
+    assertEquals(4_950, table.valeurEnAriary(EUR, AU_1ER_JANVIER_2025.plusYears(1)));
+    assertEquals(
+        TAUX_AU_1ER_JANVIER_2025.valeurEnAriary(EUR, AU_1ER_JANVIER_2025.minusDays(1)),
+        table.valeurEnAriary(EUR, AU_1ER_JANVIER_2025.minusDays(1)));
+    assertEquals(
+        TAUX_AU_1ER_JANVIER_2025.valeurEnAriary(CAD, AU_1ER_JANVIER_2025),
+        table.valeurEnAriary(CAD, AU_1ER_JANVIER_2025));
+  }
+
+  @Test
+  void taux_journaliers_egaux_aux_taux_sous_jacents() {
+    var debut = AU_1ER_JANVIER_2025.minusDays(200);
+    var fin = AU_1ER_JANVIER_2025.plusDays(200);
+    var journaliers = new TauxJournaliers(TAUX_AU_1ER_JANVIER_2025, debut, fin);
+    var conversion = journaliers.conversion(EUR, CAD);
+
+    assertEquals(401, journaliers.getNbJours());
+    assertEquals(401, conversion.nbJours());
+    for (var date = debut.minusDays(5); date.isBefore(fin.plusDays(5)); date = date.plusDays(1)) {
+      assertEquals(
+          TAUX_AU_1ER_JANVIER_2025.valeurEnAriary(EUR, date),
+          journaliers.valeurEnAriary(EUR, date));
+    }
+    for (int jour = 0; jour < journaliers.getNbJours(); jour++) {
+      var date = journaliers.getDebut().plusDays(jour);
+      var argent = new Argent("Compte", date, 1_234_567, EUR);
+      assertEquals(
+          argent.getValeurComptable(CAD, date, TAUX_AU_1ER_JANVIER_2025),
+          conversion.convertit(1_234_567, jour));
+      assertEquals(
+          TAUX_AU_1ER_JANVIER_2025.valeurEnAriary(EUR, date)
+              / TAUX_AU_1ER_JANVIER_2025.valeurEnAriary(CAD, date),
+          conversion.facteur(jour));
+    }
+  }
+
+  @Test
+  void valeur_du_patrimoine_en_devise_reproductible() {
+    var ilo = new Personne("Ilo");
+    var patrimoine =
+        new Patrimoine(
+            "Ilo en Europe",
+            ilo,
+            AU_1ER_JANVIER_2025,
+            Set.of(
+                new Argent("Compte", AU_1ER_JANVIER_2025, 1_000, EUR),
+                new Materiel(
+                    "Ordinateur", AU_1ER_JANVIER_2025, 500, AU_1ER_JANVIER_2025, -0.1, EUR)));
+    var horlogeUnAnPlusTard =
+        new TauxCalcules(Clock.offset(TAUX_AU_1ER_JANVIER_2025.horloge(), Duration.ofDays(365)));
+
+    assertEquals(1_500, patrimoine.getValeurComptable(EUR, TAUX_AU_1ER_JANVIER_2025));
+    assertEquals(1_500 * 4_821, patrimoine.getValeurComptable(MGA, TAUX_AU_1ER_JANVIER_2025));
+    // un autre calcul sur la même horloge rend la même valeur
+    var memeHorloge =
+        new TauxCalcules(Clock.fixed(AU_1ER_JANVIER_2025.atStartOfDay().toInstant(UTC), UTC));
+    assertEquals(
+        patrimoine.getValeurComptable(MGA, TAUX_AU_1ER_JANVIER_2025),
+        patrimoine.getValeurComptable(MGA, memeHorloge));
+    assertEquals(1_500 * 4_338, patrimoine.getValeurComptable(MGA, horlogeUnAnPlusTard));
+  }
+}
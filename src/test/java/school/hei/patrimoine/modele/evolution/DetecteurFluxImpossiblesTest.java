@@ -0,0 +1,60 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.modele.FluxImpossibles;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class DetecteurFluxImpossiblesTest {
+
+  // parcours de toutes les colonnes et de tous les flux, une fois la simulation terminée
+  private static Set<FluxImpossibles> fluxImpossiblesParParcours(SeriesJournalieres series) {
+    var res = new HashSet<FluxImpossibles>();
+    var possessions = series.getPossessions();
+    for (int i = 0; i < possessions.size(); i++) {
+      if (!(possessions.get(i) instanceof Argent argent) || argent instanceof Dette) {
+        continue;
+      }
+      for (int jour = 0; jour < series.getNbJours(); jour++) {
+        var valeur = series.valeur(i, jour);
+        var date = series.date(jour);
+        var flux =
+            argent.getFluxArgents().stream()
+                .filter(f -> f.getDateOperation() == date.getDayOfMonth())
+                .filter(f -> !f.getDebut().isAfter(date) && !f.getFin().isBefore(date))
+                .map(f -> f.projectionFuture(date, FluxArgent::nbOperations))
+                .collect(toSet());
+        if (valeur < 0 && !flux.isEmpty()) {
+          res.add(new FluxImpossibles(date, argent.getNom(), valeur, flux));
+        }
+      }
+    }
+    return res;
+  }
+
+  @Test
+  void detection_pendant_la_simulation_egale_le_parcours_des_colonnes() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(15, 30, 7).get();
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024;
+    var fin = debut.plusYears(8);
+
+    var sequentielles = Evaluateur.SEQUENTIEL.evalue(patrimoine, debut, fin);
+    var attendus = fluxImpossiblesParParcours(sequentielles);
+
+    assertFalse(attendus.isEmpty());
+    assertEquals(attendus, sequentielles.getFluxImpossibles());
+    try (var parallele = new EvaluateurParallele(3)) {
+      assertEquals(attendus, parallele.evalue(patrimoine, debut, fin).getFluxImpossibles());
+    }
+    assertEquals(
+        attendus, new EvaluateurEvenementiel().evalue(patrimoine, debut, fin).getFluxImpossibles());
+  }
+}
@@ -0,0 +1,127 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.util.stream.Collectors.toMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class EvaluateurEnLotTest {
+
+  @Test
+  void resumes_egalent_ceux_des_series_et_echecs_sont_comptes() {
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024;
+    var fin = debut.plusYears(3);
+    var patrimoines = new ArrayList<Patrimoine>();
+    for (int graine = 0; graine < 40; graine++) {
+      var patrimoine = new PatrimoineNombreuxFluxCas(3, 4, graine).get();
+      patrimoines.add(
+          new Patrimoine(
+              "Client " + graine,
+              patrimoine.possesseur(),
+              patrimoine.t(),
+              patrimoine.possessions()));
+    }
+    var dette = new Dette("Dette", debut, -1_000);
+    new FluxArgent("Remboursement en trop", dette, debut.plusDays(40), 2_000);
+    var enEchec = new Patrimoine("En échec", new Personne("Ilo"), debut, Set.of(dette));
+
+    var resumes = new ArrayList<ResumePatrimoine>();
+    BilanLot bilan;
+    try (var evaluateur = new EvaluateurEnLot(3)) {
+      bilan =
+          evaluateur.evalue(
+              () -> Stream.concat(patrimoines.stream(), Stream.of(enEchec)).iterator(),
+              debut,
+              fin,
+              resumes::add);
+    }
+
+    assertEquals(40, bilan.nbEvalues());
+    assertEquals(1, bilan.nbEchecs());
+    assertEquals(0, bilan.nbResumesPerdus());
+    assertTrue(bilan.patrimoinesParSeconde() > 0);
+    var resumesParNom = resumes.stream().collect(toMap(ResumePatrimoine::nom, Function.identity()));
+    for (var patrimoine : patrimoines) {
+      var series = SeriesJournalieres.simule(patrimoine, debut, fin);
+      var resume = resumesParNom.get(patrimoine.nom());
+      var totaux = series.totaux();
+      assertEquals(totaux[totaux.length - 1], resume.valeurFinale());
+      assertEquals(Arrays.stream(totaux).min().getAsInt(), resume.valeurMinimale());
+      assertEquals(soldeMinimal(series), resume.soldeMinimal());
+      assertEquals(series.getFluxImpossibles().size(), resume.nbFluxImpossibles());
+    }
+  }
+
+  @Test
+  void un_resume_refuse_par_le_puits_n_est_pas_un_echec_d_evaluation() {
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024;
+    var patrimoines = new ArrayList<Patrimoine>();
+    for (int graine = 0; graine < 10; graine++) {
+      var patrimoine = new PatrimoineNombreuxFluxCas(2, 2, graine).get();
+      patrimoines.add(
+          new Patrimoine(
+              "Client " + graine,
+              patrimoine.possesseur(),
+              patrimoine.t(),
+              patrimoine.possessions()));
+    }
+
+    BilanLot bilan;
+    try (var evaluateur = new EvaluateurEnLot(2)) {
+      bilan =
+          evaluateur.evalue(
+              patrimoines,
+              debut,
+              debut.plusYears(1),
+              resume -> {
+                if (resume.nom().equals("Client 3")) {
+                  throw new IllegalStateException("puits plein");
+                }
+              });
+    }
+
+    assertEquals(9, bilan.nbEvalues());
+    assertEquals(0, bilan.nbEchecs());
+    assertEquals(1, bilan.nbResumesPerdus());
+  }
+
+  @Test
+  void un_pool_ferme_refuse_le_lot_sans_bloquer() {
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024;
+    var patrimoine = new PatrimoineNombreuxFluxCas(2, 2, 1).get();
+    var pool = new ForkJoinPool(1);
+    pool.shutdown();
+
+    assertThrows(
+        RejectedExecutionException.class,
+        () ->
+            new EvaluateurEnLot(pool)
+                .evalue(List.of(patrimoine), debut, debut.plusYears(1), resume -> {}));
+  }
+
+  private static int soldeMinimal(SeriesJournalieres series) {
+    var possessions = series.getPossessions();
+    return IntStream.range(0, possessions.size())
+        .filter(i -> possessions.get(i) instanceof Argent && !(possessions.get(i) instanceof Dette))
+        .flatMap(i -> Arrays.stream(series.serie(i)))
+        .min()
+        .orElse(0);
+  }
+}
@@ -0,0 +1,66 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static school.hei.patrimoine.modele.evolution.EvaluateurParalleleTest.assertSeriesEgales;
+
+import java.time.LocalDate;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineEtudiantPireCas;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.cas.PatrimoineRichePireCas;
+import school.hei.patrimoine.cas.zety.PatrimoineZetyAu3Juillet2024;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class EvaluateurEvenementielTest {
+  private final EvaluateurEvenementiel evaluateur = new EvaluateurEvenementiel();
+
+  private void assertEgalAuSequentiel(Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    assertSeriesEgales(
+        Evaluateur.SEQUENTIEL.evalue(patrimoine, debut, fin),
+        evaluateur.evalue(patrimoine, debut, fin));
+  }
+
+  @Test
+  void evaluation_par_evenements_egale_evaluation_jour_par_jour() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    assertEgalAuSequentiel(
+        new PatrimoineEtudiantPireCas().get(), au13mai24.minusDays(120), au13mai24.plusYears(3));
+    assertEgalAuSequentiel(
+        new PatrimoineRichePireCas().get(), au13mai24.minusDays(10), au13mai24.plusYears(4));
+    assertEgalAuSequentiel(
+        new PatrimoineZetyAu3Juillet2024().patrimoineDeZetyLe14Fevrier2025(),
+        PatrimoineZetyAu3Juillet2024.AU_3_JUILLET_2024,
+        PatrimoineZetyAu3Juillet2024.AU_26_OCTOBRE_2025);
+    assertEgalAuSequentiel(
+        new PatrimoineNombreuxFluxCas(15, 10, 7).get(),
+        PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024.minusDays(30),
+        PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024.plusYears(6));
+  }
+
+  @Test
+  void periode_vide_n_a_aucun_jour() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var series =
+        evaluateur.evalue(new PatrimoineRichePireCas().get(), au13mai24, au13mai24.minusDays(1));
+
+    assertEquals(0, series.getNbJours());
+  }
+
+  @Test
+  void dette_positive_est_detectee_a_son_evenement() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var dette = new Dette("Dette", au13mai24, -1_000);
+    new FluxArgent("Remboursement en trop", dette, au13mai24.plusDays(400), 2_000);
+    var patrimoine = new Patrimoine("Ilo", new Personne("Ilo"), au13mai24, Set.of(dette));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> evaluateur.evalue(patrimoine, au13mai24, au13mai24.plusYears(2)));
+  }
+}
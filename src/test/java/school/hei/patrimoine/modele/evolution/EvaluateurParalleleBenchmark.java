@@ -0,0 +1,49 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static school.hei.patrimoine.Chronometre.meilleurTempsMs;
+import static school.hei.patrimoine.modele.evolution.EvaluateurParalleleTest.assertSeriesEgales;
+
+import java.time.LocalDate;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.modele.Patrimoine;
+
+/* Hors de la convention *Test de surefire : à lancer à la main, idéalement sur 8 cœurs. */
+@Slf4j
+class EvaluateurParalleleBenchmark {
+  private static final int ITERATIONS = 3;
+
+  @Test
+  void mesure_acceleration_par_rapport_au_sequentiel() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(100, 20, 1).get();
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024;
+    var fin = debut.plusYears(20);
+    var parallelisme = Runtime.getRuntime().availableProcessors();
+    try (var parallele = new EvaluateurParallele(parallelisme)) {
+      mesure(patrimoine, debut, fin, parallelisme, parallele);
+    }
+  }
+
+  private static void mesure(
+      Patrimoine patrimoine,
+      LocalDate debut,
+      LocalDate fin,
+      int parallelisme,
+      EvaluateurParallele parallele) {
+    assertSeriesEgales(
+        Evaluateur.SEQUENTIEL.evalue(patrimoine, debut, fin),
+        parallele.evalue(patrimoine, debut, fin));
+    var sequentielMs =
+        meilleurTempsMs(ITERATIONS, () -> Evaluateur.SEQUENTIEL.evalue(patrimoine, debut, fin));
+    var paralleleMs = meilleurTempsMs(ITERATIONS, () -> parallele.evalue(patrimoine, debut, fin));
+
+    log.info(
+        "{} jours, {} cœurs : séquentiel {} ms, parallèle {} ms, accélération x{}",
+        parallele.evalue(patrimoine, debut, fin).getNbJours(),
+        parallelisme,
+        sequentielMs,
+        paralleleMs,
+        String.format("%.1f", (double) sequentielMs / Math.max(1, paralleleMs)));
+  }
+}
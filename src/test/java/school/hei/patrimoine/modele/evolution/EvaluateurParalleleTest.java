@@ -0,0 +1,72 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.cas.PatrimoineRichePireCas;
+import school.hei.patrimoine.modele.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class EvaluateurParalleleTest {
+
+  static void assertSeriesEgales(SeriesJournalieres attendues, SeriesJournalieres obtenues) {
+    assertEquals(attendues.getDebut(), obtenues.getDebut());
+    assertEquals(attendues.getNbJours(), obtenues.getNbJours());
+    assertEquals(attendues.getPossessions(), obtenues.getPossessions());
+    for (int i = 0; i < attendues.getPossessions().size(); i++) {
+      assertArrayEquals(attendues.serie(i), obtenues.serie(i));
+    }
+    assertArrayEquals(attendues.totaux(), obtenues.totaux());
+  }
+
+  @Test
+  void evaluation_parallele_egale_evaluation_sequentielle() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var patrimoine = new PatrimoineRichePireCas().get();
+    var fin = au13mai24.plusYears(5);
+
+    for (var parallelisme : new int[] {1, 3, 8}) {
+      try (var parallele = new EvaluateurParallele(parallelisme)) {
+        assertSeriesEgales(
+            Evaluateur.SEQUENTIEL.evalue(patrimoine, au13mai24, fin),
+            parallele.evalue(patrimoine, au13mai24, fin));
+      }
+    }
+  }
+
+  @Test
+  void evaluation_parallele_egale_evaluation_sequentielle_avec_nombreux_flux() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(20, 15, 42).get();
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024.minusDays(50);
+    var fin = debut.plusYears(4);
+
+    try (var parallele = new EvaluateurParallele(4)) {
+      assertSeriesEgales(
+          Evaluateur.SEQUENTIEL.evalue(patrimoine, debut, fin),
+          new EvolutionPatrimoine("Nom", patrimoine, debut, fin, parallele).getSeries());
+    }
+  }
+
+  @Test
+  void erreur_d_une_tranche_est_propagee() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var dette = new Dette("Dette", au13mai24, -1_000);
+    new FluxArgent("Remboursement en trop", dette, au13mai24.plusDays(400), 2_000);
+    var patrimoine = new Patrimoine("Ilo", new Personne("Ilo"), au13mai24, Set.of(dette));
+
+    try (var parallele = new EvaluateurParallele(4)) {
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> parallele.evalue(patrimoine, au13mai24, au13mai24.plusYears(2)));
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static school.hei.patrimoine.modele.evolution.EvaluateurParalleleTest.assertSeriesEgales;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import school.hei.patrimoine.cas.PatrimoineRichePireCas;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class EvaluateurPersistantTest {
+  private static final LocalDate AU_13_MAI_24 = LocalDate.of(2024, MAY, 13);
+
+  @TempDir Path dossier;
+  private final AtomicInteger nbEvaluations = new AtomicInteger();
+  private final Evaluateur compteur =
+      (patrimoine, debut, fin) -> {
+        nbEvaluations.incrementAndGet();
+        return SeriesJournalieres.simule(patrimoine, debut, fin);
+      };
+
+  @Test
+  void relit_les_series_d_un_patrimoine_inchange_sans_le_reevaluer() {
+    var fin = AU_13_MAI_24.plusYears(3);
+    var calculees =
+        new EvaluateurPersistant(dossier, compteur)
+            .evalue(new PatrimoineRichePireCas().get(), AU_13_MAI_24, fin);
+
+    // un autre lancement : nouvel évaluateur, patrimoine reconstruit
+    var relues =
+        new EvaluateurPersistant(dossier, compteur)
+            .evalue(new PatrimoineRichePireCas().get(), AU_13_MAI_24, fin);
+
+    assertEquals(1, nbEvaluations.get());
+    assertSeriesEgales(calculees, relues);
+  }
+
+  @Test
+  void retrouve_les_flux_impossibles() {
+    var fin = AU_13_MAI_24.plusYears(1);
+    var evaluateur = new EvaluateurPersistant(dossier, compteur);
+    var calculees = evaluateur.evalue(patrimoineADecouvert(), AU_13_MAI_24, fin);
+
+    var relues = evaluateur.evalue(patrimoineADecouvert(), AU_13_MAI_24, fin);
+
+    assertEquals(1, nbEvaluations.get());
+    assertFalse(calculees.getFluxImpossibles().isEmpty());
+    assertEquals(calculees.getFluxImpossibles(), relues.getFluxImpossibles());
+  }
+
+  @Test
+  void reevalue_un_patrimoine_modifie_ou_une_autre_periode() throws IOException {
+    var evaluateur = new EvaluateurPersistant(dossier, compteur);
+    var fin = AU_13_MAI_24.plusYears(1);
+
+    evaluateur.evalue(patrimoineADecouvert(), AU_13_MAI_24, fin);
+    evaluateur.evalue(patrimoineADecouvert(), AU_13_MAI_24, fin.plusDays(1));
+    evaluateur.evalue(new PatrimoineRichePireCas().get(), AU_13_MAI_24, fin);
+
+    assertEquals(3, nbEvaluations.get());
+    assertNotEquals(
+        EvaluateurPersistant.cle(patrimoineADecouvert(), AU_13_MAI_24, fin),
+        EvaluateurPersistant.cle(patrimoineADecouvert(), AU_13_MAI_24, fin.plusDays(1)));
+    try (var fichiers = Files.list(dossier)) {
+      assertEquals(3, fichiers.count());
+    }
+  }
+
+  @Test
+  void recalcule_des_series_illisibles() throws IOException {
+    var evaluateur = new EvaluateurPersistant(dossier, compteur);
+    var fin = AU_13_MAI_24.plusYears(1);
+    var calculees = evaluateur.evalue(patrimoineADecouvert(), AU_13_MAI_24, fin);
+    try (var fichiers = Files.list(dossier)) {
+      var fichier = fichiers.findFirst().orElseThrow();
+      Files.write(fichier, new byte[] {1, 2, 3});
+    }
+
+    var recalculees = evaluateur.evalue(patrimoineADecouvert(), AU_13_MAI_24, fin);
+
+    assertEquals(2, nbEvaluations.get());
+    assertSeriesEgales(calculees, recalculees);
+    assertSeriesEgales(calculees, evaluateur.evalue(patrimoineADecouvert(), AU_13_MAI_24, fin));
+    assertEquals(2, nbEvaluations.get());
+  }
+
+  @Test
+  void recalcule_des_series_dont_un_nom_a_une_taille_corrompue() throws IOException {
+    var evaluateur = new EvaluateurPersistant(dossier, compteur);
+    var fin = AU_13_MAI_24.plusYears(1);
+    var calculees = evaluateur.evalue(patrimoineADecouvert(), AU_13_MAI_24, fin);
+    Path fichier;
+    try (var fichiers = Files.list(dossier)) {
+      fichier = fichiers.findFirst().orElseThrow();
+    }
+
+    // seul nom : "Compte", précédé de sa taille
+    var positionTaille = Files.size(fichier) - Integer.BYTES - "Compte".length();
+    for (var taille : new int[] {-1, Integer.MAX_VALUE}) {
+      try (var canal = FileChannel.open(fichier, WRITE)) {
+        canal.write(
+            ByteBuffer.allocate(Integer.BYTES).order(LITTLE_ENDIAN).putInt(0, taille),
+            positionTaille);
+      }
+      assertSeriesEgales(calculees, evaluateur.evalue(patrimoineADecouvert(), AU_13_MAI_24, fin));
+    }
+    assertEquals(3, nbEvaluations.get());
+  }
+
+  @Test
+  void ne_garde_que_les_series_les_plus_recentes_dans_la_taille_maximale() throws IOException {
+    var fin = AU_13_MAI_24.plusYears(1);
+    new EvaluateurPersistant(dossier, compteur)
+        .evalue(patrimoineADecouvert("Ilo 0"), AU_13_MAI_24, fin);
+    long tailleFichier;
+    try (var fichiers = Files.list(dossier)) {
+      tailleFichier = Files.size(fichiers.findFirst().orElseThrow());
+    }
+
+    var evaluateur = new EvaluateurPersistant(dossier, compteur, 2 * tailleFichier);
+    for (int i = 1; i <= 3; i++) {
+      evaluateur.evalue(patrimoineADecouvert("Ilo " + i), AU_13_MAI_24, fin);
+    }
+
+    try (var fichiers = Files.list(dossier)) {
+      assertEquals(2, fichiers.count());
+    }
+  }
+
+  private static Patrimoine patrimoineADecouvert() {
+    return patrimoineADecouvert("Ilo");
+  }
+
+  private static Patrimoine patrimoineADecouvert(String nom) {
+    var compte = new Argent("Compte", AU_13_MAI_24, 100_000);
+    new FluxArgent("Loyer", compte, AU_13_MAI_24, AU_13_MAI_24.plusYears(1), -60_000, 5);
+    return new Patrimoine(nom, new Personne("Ilo"), AU_13_MAI_24, Set.of(compte));
+  }
+}
@@ -0,0 +1,137 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.Possession;
+
+class EvaluateurVariantesTest {
+  private static final LocalDate AU_13_MAI_24 = LocalDate.of(2024, MAY, 13);
+  private static final LocalDate FIN = AU_13_MAI_24.plusYears(2);
+
+  private final Materiel mac =
+      new Materiel("MacBook Pro", AU_13_MAI_24, 500_000, AU_13_MAI_24.minusDays(3), -0.9);
+
+  private static Argent especes(int trainDeVie) {
+    var especes = new Argent("Espèces", AU_13_MAI_24.minusDays(1), AU_13_MAI_24, 4_000_000);
+    new FluxArgent("Vie courante", especes, AU_13_MAI_24.minusDays(100), FIN, trainDeVie, 15);
+    return especes;
+  }
+
+  private static Patrimoine patrimoine(Possession... possessions) {
+    return new Patrimoine("Ilo", new Personne("Ilo"), AU_13_MAI_24, Set.of(possessions));
+  }
+
+  private static void assertSeriesEgalesParNom(
+      SeriesJournalieres attendues, SeriesJournalieres obtenues) {
+    assertEquals(attendues.getNbJours(), obtenues.getNbJours());
+    assertEquals(attendues.getPossessions().size(), obtenues.getPossessions().size());
+    for (int i = 0; i < attendues.getPossessions().size(); i++) {
+      var nom = attendues.getPossessions().get(i).getNom();
+      var rang = obtenues.getPossessions().stream().map(Possession::getNom).toList().indexOf(nom);
+      assertArrayEquals(attendues.serie(i), obtenues.serie(rang));
+    }
+    assertArrayEquals(attendues.totaux(), obtenues.totaux());
+    assertEquals(attendues.getFluxImpossibles().size(), obtenues.getFluxImpossibles().size());
+  }
+
+  @Test
+  void variantes_egales_a_leurs_patrimoines_simules_en_entier() {
+    var base = patrimoine(especes(-100_000), mac);
+    var trainDeVieEleve = especes(-300_000);
+    var voiture = new Materiel("Voiture", AU_13_MAI_24, 2_000_000, AU_13_MAI_24, -0.2);
+
+    var lot =
+        new EvaluateurVariantes()
+            .evalue(
+                base,
+                List.of(
+                    new Variante("Train de vie élevé", Set.of(trainDeVieEleve)),
+                    new Variante("Voiture", Set.of(voiture))),
+                AU_13_MAI_24,
+                FIN);
+
+    assertSeriesEgalesParNom(SeriesJournalieres.simule(base, AU_13_MAI_24, FIN), lot.base());
+    assertSeriesEgalesParNom(
+        SeriesJournalieres.simule(patrimoine(trainDeVieEleve, mac), AU_13_MAI_24, FIN),
+        lot.variante("Train de vie élevé"));
+    assertSeriesEgalesParNom(
+        SeriesJournalieres.simule(patrimoine(especes(-100_000), mac, voiture), AU_13_MAI_24, FIN),
+        lot.variante("Voiture"));
+    assertTrue(lot.base().getFluxImpossibles().isEmpty());
+    assertFalse(lot.variante("Train de vie élevé").getFluxImpossibles().isEmpty());
+  }
+
+  @Test
+  void argent_remplace_dans_un_groupe_corrige_les_possessions_qui_le_contiennent() {
+    var especes = especes(-100_000);
+    var dansUnGroupe = patrimoine(foyer(especes));
+    var aussiAuPremierNiveau = patrimoine(especes, foyer(especes));
+    var trainDeVieEleve = especes(-300_000);
+    var variantes = List.of(new Variante("Train de vie élevé", Set.of(trainDeVieEleve)));
+
+    var lotDansUnGroupe =
+        new EvaluateurVariantes().evalue(dansUnGroupe, variantes, AU_13_MAI_24, FIN);
+    var lotAussiAuPremierNiveau =
+        new EvaluateurVariantes().evalue(aussiAuPremierNiveau, variantes, AU_13_MAI_24, FIN);
+
+    assertSeriesEgalesParNom(
+        SeriesJournalieres.simule(patrimoine(foyer(trainDeVieEleve)), AU_13_MAI_24, FIN),
+        lotDansUnGroupe.variante("Train de vie élevé"));
+    assertSeriesEgalesParNom(
+        SeriesJournalieres.simule(
+            patrimoine(trainDeVieEleve, foyer(trainDeVieEleve)), AU_13_MAI_24, FIN),
+        lotAussiAuPremierNiveau.variante("Train de vie élevé"));
+    assertSeriesEgalesParNom(
+        SeriesJournalieres.simule(dansUnGroupe, AU_13_MAI_24, FIN), lotDansUnGroupe.base());
+  }
+
+  private GroupePossession foyer(Argent especes) {
+    return new GroupePossession("Foyer", AU_13_MAI_24, Set.of(especes, mac));
+  }
+
+  @Test
+  void colonnes_inchangees_sont_partagees_avec_la_base() {
+    var base = patrimoine(especes(-100_000), mac);
+
+    var lot =
+        new EvaluateurVariantes()
+            .evalue(
+                base,
+                List.of(new Variante("Train de vie élevé", Set.of(especes(-300_000)))),
+                AU_13_MAI_24,
+                FIN);
+
+    var variante = lot.variante("Train de vie élevé");
+    var rangMacBase = lot.base().getPossessions().indexOf(mac);
+    var rangMacVariante = variante.getPossessions().indexOf(mac);
+    assertSame(lot.base().colonne(rangMacBase), variante.colonne(rangMacVariante));
+  }
+
+  @Test
+  void flux_se_remplace_a_travers_son_argent() {
+    var base = patrimoine(especes(-100_000), mac);
+    var flux = especes(-300_000).getFluxArgents().iterator().next();
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new EvaluateurVariantes()
+                .evalue(base, List.of(new Variante("Flux", Set.of(flux))), AU_13_MAI_24, FIN));
+  }
+}
@@ -0,0 +1,140 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.modele.evolution.EvaluateurParalleleTest.assertSeriesEgales;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.modele.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.TransfertArgent;
+
+class EvolutionIncrementaleTest {
+  private static final LocalDate AU_13_MAI_24 = LocalDate.of(2024, MAY, 13);
+  private static final LocalDate FIN_DU_LOYER = AU_13_MAI_24.plusYears(4);
+
+  // le loyer est le flux que l'on modifie ; le compte est aussi compté dans le foyer
+  private static Patrimoine patrimoine(int loyer, int jourDuLoyer, LocalDate finDuLoyer) {
+    var compte = new Argent("Compte courant", AU_13_MAI_24.minusDays(20), AU_13_MAI_24, 300_000);
+    var epargne = new Argent("Epargne", AU_13_MAI_24, 50_000);
+    new FluxArgent("Salaire", compte, AU_13_MAI_24, AU_13_MAI_24.plusYears(5), 120_000, 1);
+    new FluxArgent("Loyer", compte, AU_13_MAI_24, finDuLoyer, loyer, jourDuLoyer);
+    var virement =
+        new TransfertArgent(
+            "Virement", compte, epargne, AU_13_MAI_24, AU_13_MAI_24.plusYears(3), 20_000, 28);
+    var foyer =
+        new GroupePossession(
+            "Foyer",
+            AU_13_MAI_24,
+            Set.of(compte, new Materiel("Frigo", AU_13_MAI_24, 80_000, AU_13_MAI_24, -0.1)));
+    return new Patrimoine(
+        "Ilo", new Personne("Ilo"), AU_13_MAI_24, Set.of(compte, epargne, virement, foyer));
+  }
+
+  private static FluxArgent loyer(Patrimoine patrimoine) {
+    return ((Argent) patrimoine.possessionParNom("Compte courant"))
+        .getFluxArgents().stream()
+            .filter(f -> f.getNom().equals("Loyer"))
+            .findFirst()
+            .orElseThrow();
+  }
+
+  @Test
+  void modifications_de_flux_egalent_une_simulation_complete() {
+    var debut = AU_13_MAI_24.minusDays(30);
+    var fin = debut.plusYears(5);
+    var patrimoine = patrimoine(-60_000, 5, FIN_DU_LOYER);
+    var evolution = new EvolutionPatrimoine("Nom", patrimoine, debut, fin);
+    var totauxAvant = evolution.getSeries().totaux();
+    var incrementale = new EvolutionIncrementale(evolution);
+    var loyer = loyer(patrimoine);
+
+    incrementale.modifie(loyer, -200_000, 5, FIN_DU_LOYER);
+    assertSeriesEgales(
+        SeriesJournalieres.simule(patrimoine(-200_000, 5, FIN_DU_LOYER), debut, fin),
+        incrementale.getSeries());
+
+    incrementale.modifie(loyer, -200_000, 31, FIN_DU_LOYER);
+    incrementale.modifie(loyer, -200_000, 31, debut.plusYears(2));
+    var attendues =
+        SeriesJournalieres.simule(patrimoine(-200_000, 31, debut.plusYears(2)), debut, fin);
+    assertSeriesEgales(attendues, incrementale.getSeries());
+    assertFalse(attendues.getFluxImpossibles().isEmpty());
+    assertEquals(attendues.getFluxImpossibles(), incrementale.getSeries().getFluxImpossibles());
+
+    // ni le patrimoine ni l'évolution d'origine n'ont bougé
+    assertArrayEquals(totauxAvant, evolution.getSeries().totaux());
+    assertSame(loyer, loyer(patrimoine));
+    assertEquals(-60_000, loyer.getFluxMensuel());
+    assertSeriesEgales(
+        SeriesJournalieres.simule(patrimoine(-60_000, 5, FIN_DU_LOYER), debut, fin),
+        SeriesJournalieres.simule(patrimoine, debut, fin));
+  }
+
+  @Test
+  void revenir_au_flux_d_origine_rend_les_series_d_origine() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(8, 6, 11).get();
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024.minusDays(30);
+    var fin = debut.plusYears(5);
+    var evolution = new EvolutionPatrimoine("Nom", patrimoine, debut, fin);
+    var incrementale = new EvolutionIncrementale(evolution);
+    var compte = (Argent) patrimoine.possessionParNom("Compte 3");
+    var flux =
+        compte.getFluxArgents().stream()
+            .min(Comparator.comparing(FluxArgent::getNom))
+            .orElseThrow();
+
+    incrementale.modifie(flux, -900_000, 31, debut.plusYears(1));
+    assertTrue(compte.getFluxArgents().contains(flux));
+    incrementale.modifie(flux, flux.getFluxMensuel(), flux.getDateOperation(), flux.getFin());
+
+    assertSeriesEgales(evolution.getSeries(), incrementale.getSeries());
+    assertEquals(evolution.getFluxImpossibles(), incrementale.getSeries().getFluxImpossibles());
+  }
+
+  private static Patrimoine endette(int remboursement) {
+    var pret = new Dette("Prêt", AU_13_MAI_24, -1_000_000);
+    new FluxArgent(
+        "Remboursement", pret, AU_13_MAI_24, AU_13_MAI_24.plusMonths(9), remboursement, 5);
+    return new Patrimoine("Ilo", new Personne("Ilo"), AU_13_MAI_24, Set.of(pret));
+  }
+
+  @Test
+  void modifier_une_dette_garde_son_signe() {
+    var fin = AU_13_MAI_24.plusYears(1);
+    var patrimoine = endette(100_000);
+    var incrementale =
+        new EvolutionIncrementale(new EvolutionPatrimoine("Nom", patrimoine, AU_13_MAI_24, fin));
+    var remboursement =
+        ((Argent) patrimoine.possessionParNom("Prêt")).getFluxArgents().iterator().next();
+
+    incrementale.modifie(remboursement, 50_000, 5, AU_13_MAI_24.plusMonths(9));
+    assertSeriesEgales(
+        SeriesJournalieres.simule(endette(50_000), AU_13_MAI_24, fin), incrementale.getSeries());
+
+    // rembourser plus que la dette : refusé comme par la simulation complète
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SeriesJournalieres.simule(endette(150_000), AU_13_MAI_24, fin));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> incrementale.modifie(remboursement, 150_000, 5, AU_13_MAI_24.plusMonths(9)));
+    assertSeriesEgales(
+        SeriesJournalieres.simule(endette(50_000), AU_13_MAI_24, fin), incrementale.getSeries());
+  }
+}
@@ -0,0 +1,62 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.modele.possession.Possession;
+
+class MatriceValeursTest {
+
+  @Test
+  void valeurs_aux_dates_demandees_egales_aux_series_journalieres() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(10, 8, 5).get();
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024.minusDays(20);
+    var fin = debut.plusYears(6);
+    var series = SeriesJournalieres.simule(patrimoine, debut, fin);
+    var noms = List.of("Compte 2", "Materiel 4", "Compte 7", "Compte 2");
+
+    var dates = new ArrayList<LocalDate>();
+    dates.add(debut);
+    dates.add(debut.plusDays(3));
+    dates.add(debut.plusDays(3));
+    for (var date = debut.withDayOfMonth(1).plusMonths(1);
+        date.isBefore(fin);
+        date = date.plusMonths(1)) {
+      dates.add(date.minusDays(1));
+    }
+    for (var date = dates.get(dates.size() - 1); date.isBefore(fin); date = date.plusDays(97)) {
+      dates.add(date);
+    }
+    dates.add(fin);
+
+    var matrice = MatriceValeurs.valorise(patrimoine, noms, dates);
+
+    assertEquals(noms.size(), matrice.length);
+    var nomsDesSeries = series.getPossessions().stream().map(Possession::getNom).toList();
+    for (int i = 0; i < noms.size(); i++) {
+      var serie = series.serie(nomsDesSeries.indexOf(noms.get(i)));
+      assertEquals(dates.size(), matrice[i].length);
+      for (int d = 0; d < dates.size(); d++) {
+        assertEquals(serie[(int) DAYS.between(debut, dates.get(d))], matrice[i][d]);
+      }
+    }
+  }
+
+  @Test
+  void dates_non_triees_sont_refusees() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(2, 2, 5).get();
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024;
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            MatriceValeurs.valorise(
+                patrimoine, List.of("Compte 0"), List.of(debut.plusDays(100), debut)));
+  }
+}
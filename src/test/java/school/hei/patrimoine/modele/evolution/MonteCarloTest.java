@@ -0,0 +1,101 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.Month.MAY;
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.modele.Devise.EUR;
+import static school.hei.patrimoine.modele.Devise.MGA;
+import static school.hei.patrimoine.modele.Devise.NON_NOMMEE;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class MonteCarloTest {
+  private static final LocalDate AU_13_MAI_24 = LocalDate.of(2024, MAY, 13);
+  private static final Clock HORLOGE = Clock.fixed(AU_13_MAI_24.atStartOfDay().toInstant(UTC), UTC);
+
+  @Test
+  void sans_dispersion_les_bandes_sont_la_simulation_nominale() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(10, 10, 3).get();
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024;
+    var fin = debut.plusYears(3);
+
+    BandesPercentiles bandes;
+    try (var pool = new ForkJoinPool(2)) {
+      bandes =
+          new MonteCarlo(20, 0, 0, 1L, pool).simule(patrimoine, debut, fin, NON_NOMMEE, HORLOGE);
+    }
+
+    var nominales = Evaluateur.SEQUENTIEL.evalue(patrimoine, debut, fin).totaux();
+    assertEquals(nominales.length, bandes.getNbJours());
+    assertEquals(debut, bandes.date(0));
+    assertEquals(20, bandes.getNbTirages());
+    assertArrayEquals(nominales, bandes.p5());
+    assertArrayEquals(nominales, bandes.p50());
+    assertArrayEquals(nominales, bandes.p95());
+  }
+
+  @Test
+  void tirages_reproductibles_quel_que_soit_le_parallelisme() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(10, 10, 3).get();
+    var debut = PatrimoineNombreuxFluxCas.AU_1ER_JANVIER_2024;
+    var fin = debut.plusYears(3);
+
+    BandesPercentiles surUnCoeur;
+    BandesPercentiles surQuatreCoeurs;
+    try (var unCoeur = new ForkJoinPool(1);
+        var quatreCoeurs = new ForkJoinPool(4)) {
+      surUnCoeur =
+          new MonteCarlo(200, 0.2, 0, 42L, unCoeur)
+              .simule(patrimoine, debut, fin, NON_NOMMEE, HORLOGE);
+      surQuatreCoeurs =
+          new MonteCarlo(200, 0.2, 0, 42L, quatreCoeurs)
+              .simule(patrimoine, debut, fin, NON_NOMMEE, HORLOGE);
+    }
+
+    assertArrayEquals(surUnCoeur.p5(), surQuatreCoeurs.p5());
+    assertArrayEquals(surUnCoeur.p50(), surQuatreCoeurs.p50());
+    assertArrayEquals(surUnCoeur.p95(), surQuatreCoeurs.p95());
+    var dernierJour = surUnCoeur.getNbJours() - 1;
+    assertTrue(surUnCoeur.p5()[dernierJour] < surUnCoeur.p50()[dernierJour]);
+    assertTrue(surUnCoeur.p50()[dernierJour] < surUnCoeur.p95()[dernierJour]);
+  }
+
+  @Test
+  void change_tire_disperse_la_valeur_en_ariary_d_un_compte_en_euro() {
+    var compteEnEuro = new Argent("Compte en euro", AU_13_MAI_24, 1_000, EUR);
+    new FluxArgent("Salaire", compteEnEuro, AU_13_MAI_24, AU_13_MAI_24.plusYears(1), 500, 1);
+    var patrimoine = new Patrimoine("Ilo", new Personne("Ilo"), AU_13_MAI_24, Set.of(compteEnEuro));
+    BandesPercentiles enEuro;
+    BandesPercentiles enAriary;
+    try (var pool = new ForkJoinPool(2)) {
+      var monteCarlo = new MonteCarlo(101, 0, 0.05, 7L, pool);
+      enEuro = monteCarlo.simule(patrimoine, AU_13_MAI_24, AU_13_MAI_24.plusYears(2), EUR, HORLOGE);
+      enAriary =
+          monteCarlo.simule(patrimoine, AU_13_MAI_24, AU_13_MAI_24.plusYears(2), MGA, HORLOGE);
+    }
+
+    assertArrayEquals(enEuro.p5(), enEuro.p95());
+    assertEquals(1_000 * 4_821, enAriary.p50()[0]);
+    var dernierJour = enAriary.getNbJours() - 1;
+    assertTrue(enAriary.p5()[dernierJour] < enAriary.p95()[dernierJour]);
+  }
+
+  @Test
+  void il_faut_au_moins_un_tirage() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new MonteCarlo(0, 0, 0, 1L, ForkJoinPool.commonPool()));
+  }
+}
@@ -0,0 +1,77 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.modele.possession.AchatMaterielAuComptant;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Creance;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.Materiel;
+import school.hei.patrimoine.modele.possession.Possession;
+import school.hei.patrimoine.modele.possession.TransfertArgent;
+
+class PlanExecutionTest {
+  private static final LocalDate AU_13_MAI_24 = LocalDate.of(2024, MAY, 13);
+
+  private static void assertExecutionEgaleAuxProjections(
+      List<Possession> possessions, LocalDate debut, LocalDate fin) {
+    var execution = PlanExecution.compile(possessions).demarre(debut);
+    for (var date = debut; !date.isAfter(fin); date = date.plusDays(1)) {
+      assertEquals(date, execution.getDate());
+      for (int i = 0; i < possessions.size(); i++) {
+        assertEquals(
+            possessions.get(i).projectionFuture(date).getValeurComptable(),
+            execution.valeurComptable(i),
+            possessions.get(i).getNom() + " le " + date);
+      }
+      execution.avancer();
+    }
+  }
+
+  @Test
+  void groupes_aplatis_egaux_aux_projections() {
+    var courant = new Argent("Courant", AU_13_MAI_24.minusDays(30), AU_13_MAI_24, 500_000);
+    var epargne = new Argent("Epargne", AU_13_MAI_24.plusDays(20), AU_13_MAI_24, 0);
+    new FluxArgent("Salaire", courant, AU_13_MAI_24, AU_13_MAI_24.plusYears(2), 300_000, 31);
+    new FluxArgent("Loyer", courant, AU_13_MAI_24.minusDays(60), LocalDate.MAX, -120_000, 5);
+    var virement =
+        new TransfertArgent(
+            "Virement", courant, epargne, AU_13_MAI_24, AU_13_MAI_24.plusYears(1), 50_000, 29);
+    var velo =
+        new AchatMaterielAuComptant("Vélo", AU_13_MAI_24.plusDays(45), 80_000, -0.2, courant);
+    var ordinateur =
+        new Materiel("Ordinateur", AU_13_MAI_24, 2_000_000, AU_13_MAI_24.plusDays(10), -0.5);
+    var creance = new Creance("Prêt à Rabe", AU_13_MAI_24, 100_000);
+    new FluxArgent("Rabe rembourse", creance, AU_13_MAI_24, AU_13_MAI_24.plusDays(150), -20_000, 1);
+    var comptes =
+        new GroupePossession("Comptes", AU_13_MAI_24, Set.of(courant, epargne, ordinateur));
+
+    assertExecutionEgaleAuxProjections(
+        List.of(courant, epargne, virement, velo, ordinateur, creance, comptes),
+        AU_13_MAI_24.minusDays(40),
+        AU_13_MAI_24.plusYears(3));
+    assertExecutionEgaleAuxProjections(
+        List.of(comptes, velo, courant), AU_13_MAI_24.plusDays(77), AU_13_MAI_24.plusDays(500));
+  }
+
+  @Test
+  void dette_devenue_positive_est_refusee() {
+    var dette = new Dette("Dette", AU_13_MAI_24, -1_000);
+    new FluxArgent("Remboursement en trop", dette, AU_13_MAI_24.plusDays(3), 2_000);
+    var execution = PlanExecution.compile(List.of(dette)).demarre(AU_13_MAI_24);
+
+    assertEquals(-1_000, execution.valeurComptable(0));
+    execution.avancer();
+    execution.avancer();
+    execution.avancer();
+    assertThrows(IllegalArgumentException.class, () -> execution.valeurComptable(0));
+  }
+}
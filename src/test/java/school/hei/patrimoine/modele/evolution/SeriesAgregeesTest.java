@@ -0,0 +1,81 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.Month.JANUARY;
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineRichePireCas;
+import school.hei.patrimoine.modele.EvolutionPatrimoine;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class SeriesAgregeesTest {
+
+  @Test
+  void agregats_par_periode_egalent_ceux_des_jours() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var series =
+        SeriesJournalieres.simule(
+            new PatrimoineRichePireCas().get(), au13mai24, au13mai24.plusYears(3));
+    var totaux = series.totaux();
+
+    for (var resolution : Resolution.values()) {
+      var agregees = SeriesAgregees.de(series, resolution);
+      var periode = -1;
+      var min = 0;
+      var max = 0;
+      for (int jour = 0; jour < series.getNbJours(); jour++) {
+        var valeur = totaux[jour];
+        if (periode + 1 < agregees.getNbPeriodes()
+            && !series.date(jour).isBefore(agregees.getDebuts().get(periode + 1))) {
+          periode++;
+          min = valeur;
+          max = valeur;
+        }
+        min = Math.min(min, valeur);
+        max = Math.max(max, valeur);
+        assertEquals(
+            resolution.debutPeriode(series.date(jour)), debutNonTronque(agregees, periode));
+        if (jour == series.getNbJours() - 1
+            || !resolution
+                .debutPeriode(series.date(jour + 1))
+                .equals(resolution.debutPeriode(series.date(jour)))) {
+          assertEquals(min, agregees.totaux().minimums()[periode]);
+          assertEquals(max, agregees.totaux().maximums()[periode]);
+          assertEquals(valeur, agregees.totaux().dernieres()[periode]);
+        }
+      }
+      assertEquals(agregees.getNbPeriodes() - 1, periode);
+    }
+  }
+
+  private static LocalDate debutNonTronque(SeriesAgregees agregees, int periode) {
+    return agregees.getResolution().debutPeriode(agregees.getDebuts().get(periode));
+  }
+
+  @Test
+  void passage_sous_zero_reste_visible_au_mois() {
+    var au1erJanvier24 = LocalDate.of(2024, JANUARY, 1);
+    var compte = new Argent("Compte", au1erJanvier24, 1_000);
+    new FluxArgent("Découvert", compte, au1erJanvier24.plusDays(10), -5_000);
+    new FluxArgent("Renfloué", compte, au1erJanvier24.plusDays(12), 5_000);
+    var patrimoine = new Patrimoine("Ilo", new Personne("Ilo"), au1erJanvier24, Set.of(compte));
+    var evolution =
+        new EvolutionPatrimoine("Ilo", patrimoine, au1erJanvier24, au1erJanvier24.plusYears(1));
+
+    var mensuelles = evolution.seriesAgregees(Resolution.MOIS);
+
+    assertEquals(13, mensuelles.getNbPeriodes());
+    assertEquals(-4_000, mensuelles.totaux().minimums()[0]);
+    assertTrue(Arrays.stream(mensuelles.totaux().dernieres()).allMatch(v -> v == 1_000));
+    assertSame(mensuelles, evolution.seriesAgregees(Resolution.MOIS));
+  }
+}
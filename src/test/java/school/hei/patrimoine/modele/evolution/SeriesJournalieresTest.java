@@ -0,0 +1,100 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.cas.PatrimoineRichePireCas;
+import school.hei.patrimoine.cas.zety.PatrimoineZetyAu3Juillet2024;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class SeriesJournalieresTest {
+
+  private static void assertSeriesEgalesAuxProjections(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    var series = SeriesJournalieres.simule(patrimoine, debut, fin);
+    var totaux = series.totaux();
+
+    assertEquals(debut, series.getDebut());
+    assertEquals(fin, series.date(series.getNbJours() - 1));
+    assertTrue(series.getPossessions().stream().noneMatch(p -> p instanceof FluxArgent));
+    for (int jour = 0; jour < series.getNbJours(); jour++) {
+      var projection = patrimoine.projectionFuture(series.date(jour));
+      assertEquals(projection.getValeurComptable(), totaux[jour]);
+      for (int i = 0; i < series.getPossessions().size(); i++) {
+        var nom = series.getPossessions().get(i).getNom();
+        assertEquals(projection.possessionParNom(nom).getValeurComptable(), series.valeur(i, jour));
+        assertEquals(series.valeur(i, jour), series.colonne(i)[jour]);
+      }
+    }
+  }
+
+  @Test
+  void series_egales_aux_projections_patrimoine_riche() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    assertSeriesEgalesAuxProjections(
+        new PatrimoineRichePireCas().get(), au13mai24.minusDays(10), au13mai24.plusDays(700));
+  }
+
+  @Test
+  void series_egales_aux_projections_patrimoine_zety() {
+    assertSeriesEgalesAuxProjections(
+        new PatrimoineZetyAu3Juillet2024().patrimoineDeZetyLe14Fevrier2025(),
+        PatrimoineZetyAu3Juillet2024.AU_3_JUILLET_2024,
+        PatrimoineZetyAu3Juillet2024.AU_26_OCTOBRE_2025);
+  }
+
+  @Test
+  void periode_vide_n_a_aucun_jour() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var series =
+        SeriesJournalieres.simule(
+            new PatrimoineRichePireCas().get(), au13mai24, au13mai24.minusDays(1));
+
+    assertEquals(0, series.getNbJours());
+    assertEquals(0, series.totaux().length);
+  }
+
+  @Test
+  void ordre_des_colonnes_ne_depend_pas_de_l_ordre_d_insertion() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(40, 2, 3).get();
+    var attendues = SeriesJournalieres.possessionsValorisables(patrimoine);
+
+    for (int graine = 0; graine < 5; graine++) {
+      var possessions = new ArrayList<>(patrimoine.possessions());
+      Collections.shuffle(possessions, new Random(graine));
+      var melange =
+          new Patrimoine(
+              patrimoine.nom(),
+              patrimoine.possesseur(),
+              patrimoine.t(),
+              new LinkedHashSet<>(possessions));
+
+      assertEquals(attendues, SeriesJournalieres.possessionsValorisables(melange));
+    }
+  }
+
+  @Test
+  void colonnes_rendues_sont_des_copies() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var series =
+        SeriesJournalieres.simule(
+            new PatrimoineRichePireCas().get(), au13mai24, au13mai24.plusDays(10));
+    var valeur = series.valeur(0, 3);
+    var total = series.totaux()[3];
+
+    series.serie(0)[3] += 1_000;
+    series.totaux()[3] += 1_000;
+
+    assertEquals(valeur, series.valeur(0, 3));
+    assertEquals(total, series.totaux()[3]);
+  }
+}
@@ -0,0 +1,78 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineEtudiantPireCas;
+import school.hei.patrimoine.cas.PatrimoineRichePireCas;
+import school.hei.patrimoine.cas.zety.PatrimoineZetyAu3Juillet2024;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.possession.AchatMaterielAuComptant;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+
+class SimulateurJournalierTest {
+
+  private static void assertSimulationEgaleAuxProjections(
+      Patrimoine patrimoine, LocalDate debut, LocalDate fin) {
+    var simulateur = new SimulateurJournalier(patrimoine, debut);
+    for (var date = debut; !date.isAfter(fin); date = date.plusDays(1)) {
+      assertEquals(date, simulateur.getDate());
+      var projection = simulateur.projection();
+      var attendu = patrimoine.projectionFuture(date);
+      assertEquals(attendu, projection);
+      assertEquals(attendu.getValeurComptable(), projection.getValeurComptable());
+      simulateur.avancer();
+    }
+  }
+
+  @Test
+  void simulation_egale_projections_patrimoine_etudiant() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    assertSimulationEgaleAuxProjections(
+        new PatrimoineEtudiantPireCas().get(), au13mai24.minusDays(120), au13mai24.plusDays(400));
+  }
+
+  @Test
+  void simulation_egale_projections_patrimoine_riche() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    assertSimulationEgaleAuxProjections(
+        new PatrimoineRichePireCas().get(), au13mai24.minusDays(10), au13mai24.plusDays(900));
+  }
+
+  @Test
+  void simulation_egale_projections_patrimoine_zety() {
+    var zety = new PatrimoineZetyAu3Juillet2024();
+    assertSimulationEgaleAuxProjections(
+        zety.patrimoineDeZetyLe14Fevrier2025(),
+        PatrimoineZetyAu3Juillet2024.AU_3_JUILLET_2024,
+        PatrimoineZetyAu3Juillet2024.AU_26_OCTOBRE_2025);
+  }
+
+  @Test
+  void flux_hors_patrimoine_et_autres_dates_sont_comptes_par_le_flux() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var financeurHorsPatrimoine = new Argent("Espèces", au13mai24, 600_000);
+    var trainDeVie =
+        new FluxArgent(
+            "Vie courante", financeurHorsPatrimoine, au13mai24, au13mai24.plusDays(100), -1, 15);
+    var achat =
+        new AchatMaterielAuComptant(
+            "Vélo", au13mai24.plusDays(2), 100_000, -0.1, financeurHorsPatrimoine);
+    var patrimoine =
+        new Patrimoine("Ilo", new Personne("Ilo"), au13mai24, Set.of(achat, trainDeVie));
+
+    var simulateur = new SimulateurJournalier(patrimoine, au13mai24);
+
+    var auJuillet = au13mai24.plusDays(60);
+    assertEquals(
+        trainDeVie.nbOperations(auJuillet), simulateur.nbOperations(trainDeVie, auJuillet));
+    var autreFlux = new FluxArgent("Autre", financeurHorsPatrimoine, au13mai24, 1_000);
+    assertEquals(autreFlux.nbOperations(auJuillet), simulateur.nbOperations(autreFlux, auJuillet));
+    assertSimulationEgaleAuxProjections(patrimoine, au13mai24, au13mai24.plusDays(40));
+  }
+}
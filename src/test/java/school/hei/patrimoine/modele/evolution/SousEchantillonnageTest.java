@@ -0,0 +1,53 @@
+package school.hei.patrimoine.modele.evolution;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+
+class SousEchantillonnageTest {
+
+  @Test
+  void serie_courte_est_gardee_entiere() {
+    assertArrayEquals(
+        new int[] {0, 1, 2, 3}, SousEchantillonnage.joursGardes(new int[] {5, 6, 7, 8}, 10));
+  }
+
+  @Test
+  void garde_extremites_et_creux() {
+    var serie = new int[10_000];
+    Arrays.fill(serie, 1_000);
+    serie[6_543] = -50_000;
+
+    var jours = SousEchantillonnage.joursGardes(serie, 100);
+
+    assertEquals(100, jours.length);
+    assertEquals(0, jours[0]);
+    assertEquals(serie.length - 1, jours[jours.length - 1]);
+    assertTrue(Arrays.stream(jours).anyMatch(jour -> jour == 6_543));
+    for (int i = 1; i < jours.length; i++) {
+      assertTrue(jours[i - 1] < jours[i]);
+    }
+  }
+
+  @Test
+  void nombre_de_points_ne_depend_pas_de_l_horizon() {
+    var patrimoine = new PatrimoineNombreuxFluxCas(5, 5, 3).get();
+    var debut = patrimoine.t();
+    for (var annees : new int[] {1, 4}) {
+      var totaux = SeriesJournalieres.simule(patrimoine, debut, debut.plusYears(annees)).totaux();
+      assertEquals(300, SousEchantillonnage.joursGardes(totaux, 300).length);
+    }
+  }
+
+  @Test
+  void moins_de_3_points_est_refuse() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SousEchantillonnage.joursGardes(new int[] {1, 2, 3, 4}, 2));
+  }
+}
@@ -0,0 +1,96 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.time.Month.JANUARY;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static school.hei.patrimoine.Chronometre.meilleurTempsMs;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+/* Hors de la convention *Test de surefire : à lancer à la main. */
+@Slf4j
+class ArgentBenchmark {
+  private static final int ITERATIONS = 3;
+  private static final LocalDate AU_1ER_JANVIER_2024 = LocalDate.of(2024, JANUARY, 1);
+
+  private record ProjectionEnDeuxPasses(int valeurComptable, Set<FluxArgent> fluxArgents) {}
+
+  // projection d'avant la passe unique : chaque flux projeté pour le solde, puis pour l'ensemble
+  private static ProjectionEnDeuxPasses projectionEnDeuxPasses(Argent argent, LocalDate tFutur) {
+    var financementsFuturs =
+        argent.getFluxArgents().stream()
+            .mapToInt(
+                f ->
+                    argent.getValeurComptable()
+                        - f.projectionFuture(tFutur, FluxArgent::nbOperations)
+                            .getArgent()
+                            .getValeurComptable())
+            .sum();
+    return new ProjectionEnDeuxPasses(
+        argent.getValeurComptable() - financementsFuturs,
+        argent.getFluxArgents().stream()
+            .map(f -> f.projectionFuture(tFutur, FluxArgent::nbOperations))
+            .collect(toSet()));
+  }
+
+  @Test
+  void mesure_gain_de_la_projection_en_une_passe() {
+    var aleatoire = new Random(1L);
+    var compte = new Argent("Compte courant", AU_1ER_JANVIER_2024, 10_000_000);
+    for (int i = 0; i < 60; i++) {
+      var debut = AU_1ER_JANVIER_2024.plusDays(aleatoire.nextInt(365));
+      new FluxArgent(
+          "Flux " + i,
+          compte,
+          debut,
+          debut.plusDays(aleatoire.nextInt(3_650)),
+          aleatoire.nextInt(200_001) - 100_000,
+          1 + aleatoire.nextInt(28));
+    }
+    var nbJours = 1_000;
+
+    for (int jour = 0; jour < nbJours; jour += 97) {
+      var date = AU_1ER_JANVIER_2024.plusDays(jour);
+      assertEquals(
+          projectionEnDeuxPasses(compte, date).valeurComptable(),
+          compte.projectionFuture(date).getValeurComptable());
+    }
+    var deuxPassesMs =
+        meilleurTempsMs(
+            ITERATIONS,
+            () -> {
+              var somme = 0;
+              for (int jour = 0; jour < nbJours; jour++) {
+                somme +=
+                    projectionEnDeuxPasses(compte, AU_1ER_JANVIER_2024.plusDays(jour))
+                        .valeurComptable();
+              }
+              return somme;
+            });
+    var unePasseMs =
+        meilleurTempsMs(
+            ITERATIONS,
+            () -> {
+              var somme = 0;
+              for (int jour = 0; jour < nbJours; jour++) {
+                somme +=
+                    compte
+                        .projectionFuture(AU_1ER_JANVIER_2024.plusDays(jour))
+                        .getValeurComptable();
+              }
+              return somme;
+            });
+
+    log.info(
+        "{} flux, {} projections : deux passes {} ms, une passe {} ms, gain x{}",
+        compte.getFluxArgents().size(),
+        nbJours,
+        deuxPassesMs,
+        unePasseMs,
+        String.format("%.1f", (double) deuxPassesMs / Math.max(1, unePasseMs)));
+  }
+}
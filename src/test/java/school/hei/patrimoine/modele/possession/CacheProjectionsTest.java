@@ -0,0 +1,112 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineRichePireCas;
+
+class CacheProjectionsTest {
+  private static final LocalDate AU_13_MAI_24 = LocalDate.of(2024, MAY, 13);
+
+  @Test
+  void projection_deja_demandee_est_rendue_sans_recalcul() {
+    var cache = new CacheProjections(10);
+    var argent = new Argent("Espèces", AU_13_MAI_24, 100_000);
+    new FluxArgent("Salaire", argent, AU_13_MAI_24, AU_13_MAI_24.plusYears(1), 50_000, 1);
+
+    var projection = cache.projectionFuture(argent, AU_13_MAI_24.plusMonths(3));
+
+    assertSame(projection, cache.projectionFuture(argent, AU_13_MAI_24.plusMonths(3)));
+    assertEquals(
+        argent.projectionFuture(AU_13_MAI_24.plusMonths(3)).getValeurComptable(),
+        projection.getValeurComptable());
+    assertEquals(1, cache.getSucces());
+    assertEquals(1, cache.getEchecs());
+  }
+
+  @Test
+  void flux_ajoute_apres_coup_perime_les_projections() {
+    var cache = new CacheProjections(10);
+    var argent = new Argent("Espèces", AU_13_MAI_24, 100_000);
+    var foyer = new GroupePossession("Foyer", AU_13_MAI_24, Set.of(argent));
+    var dans3Mois = AU_13_MAI_24.plusMonths(3);
+    cache.projectionFuture(argent, dans3Mois);
+    cache.projectionFuture(foyer, dans3Mois);
+    assertEquals(100_000, cache.projectionFuture(argent, dans3Mois).getValeurComptable());
+
+    new FluxArgent("Salaire", argent, AU_13_MAI_24, AU_13_MAI_24.plusYears(1), 50_000, 1);
+
+    assertEquals(250_000, cache.projectionFuture(argent, dans3Mois).getValeurComptable());
+    assertEquals(250_000, cache.projectionFuture(foyer, dans3Mois).getValeurComptable());
+    assertEquals(2, cache.taille());
+    assertEquals(2, cache.poids());
+  }
+
+  @Test
+  void possessions_egales_mais_distinctes_ne_partagent_pas_leurs_projections() {
+    var cache = new CacheProjections(10);
+    var sansFlux = new Argent("Espèces", AU_13_MAI_24, 100_000);
+    var avecFlux = new Argent("Espèces", AU_13_MAI_24, 100_000);
+    new FluxArgent("Salaire", avecFlux, AU_13_MAI_24, AU_13_MAI_24.plusYears(1), 50_000, 1);
+
+    var dans3Mois = AU_13_MAI_24.plusMonths(3);
+    assertEquals(100_000, cache.projectionFuture(sansFlux, dans3Mois).getValeurComptable());
+    assertEquals(250_000, cache.projectionFuture(avecFlux, dans3Mois).getValeurComptable());
+  }
+
+  @Test
+  void moins_recemment_demandees_sont_evincees() {
+    var cache = new CacheProjections(2);
+    var mac = new Materiel("MacBook Pro", AU_13_MAI_24, 2_000, AU_13_MAI_24, -0.9);
+
+    var dans1Jour = cache.projectionFuture(mac, AU_13_MAI_24.plusDays(1));
+    cache.projectionFuture(mac, AU_13_MAI_24.plusDays(2));
+    cache.projectionFuture(mac, AU_13_MAI_24.plusDays(1));
+    cache.projectionFuture(mac, AU_13_MAI_24.plusDays(3));
+
+    assertEquals(2, cache.taille());
+    assertEquals(1, cache.getEvictions());
+    assertSame(dans1Jour, cache.projectionFuture(mac, AU_13_MAI_24.plusDays(1)));
+    var echecs = cache.getEchecs();
+    cache.projectionFuture(mac, AU_13_MAI_24.plusDays(2));
+    assertEquals(echecs + 1, cache.getEchecs());
+  }
+
+  @Test
+  void eviction_selon_le_poids_des_possessions() {
+    var cache =
+        new CacheProjections(
+            3, p -> p instanceof Argent argent ? 1 + argent.getFluxArgents().size() : 1);
+    var argent = new Argent("Espèces", AU_13_MAI_24, 100_000);
+    new FluxArgent("Salaire", argent, AU_13_MAI_24, AU_13_MAI_24.plusYears(1), 50_000, 1);
+    var mac = new Materiel("MacBook Pro", AU_13_MAI_24, 2_000, AU_13_MAI_24, -0.9);
+
+    cache.projectionFuture(mac, AU_13_MAI_24.plusDays(1));
+    cache.projectionFuture(mac, AU_13_MAI_24.plusDays(2));
+    cache.projectionFuture(argent, AU_13_MAI_24.plusDays(1));
+
+    assertEquals(2, cache.taille());
+    assertEquals(3, cache.poids());
+  }
+
+  @Test
+  void partage_entre_threads() {
+    var cache = new CacheProjections(1_000);
+    var patrimoine = new PatrimoineRichePireCas().get();
+
+    IntStream.range(0, 2_000)
+        .parallel()
+        .forEach(i -> patrimoine.projectionFuture(AU_13_MAI_24.plusDays(i % 50), cache));
+
+    assertEquals(50L * patrimoine.possessions().size(), cache.taille());
+    assertEquals(2_000L * patrimoine.possessions().size(), cache.getSucces() + cache.getEchecs());
+    assertEquals(
+        patrimoine.projectionFuture(AU_13_MAI_24.plusDays(20)).getValeurComptable(),
+        patrimoine.projectionFuture(AU_13_MAI_24.plusDays(20), cache).getValeurComptable());
+  }
+}
@@ -0,0 +1,85 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.time.Month.APRIL;
+import static java.time.Month.DECEMBER;
+import static java.time.Month.FEBRUARY;
+import static java.time.Month.JANUARY;
+import static java.time.Month.MARCH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static school.hei.patrimoine.modele.possession.CalendrierOperations.nbOperations;
+
+import java.time.LocalDate;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CalendrierOperationsTest {
+
+  private static int nbOperationsParParcours(LocalDate debut, LocalDate fin, int jourOperation) {
+    if (debut.isAfter(fin)) {
+      return 0;
+    }
+    return (int)
+        debut.datesUntil(fin.plusDays(1)).filter(d -> d.getDayOfMonth() == jourOperation).count();
+  }
+
+  @Test
+  void mois_trop_courts_ne_comptent_pas() {
+    assertEquals(
+        1, nbOperations(LocalDate.of(2024, FEBRUARY, 1), LocalDate.of(2024, MARCH, 28), 29));
+    assertEquals(
+        0, nbOperations(LocalDate.of(2023, FEBRUARY, 1), LocalDate.of(2023, MARCH, 28), 29));
+    assertEquals(
+        0, nbOperations(LocalDate.of(2100, FEBRUARY, 1), LocalDate.of(2100, MARCH, 28), 29));
+    assertEquals(
+        1, nbOperations(LocalDate.of(2000, FEBRUARY, 1), LocalDate.of(2000, MARCH, 28), 29));
+    assertEquals(
+        7, nbOperations(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, DECEMBER, 31), 31));
+    assertEquals(
+        11, nbOperations(LocalDate.of(2024, JANUARY, 1), LocalDate.of(2024, DECEMBER, 31), 30));
+    assertEquals(0, nbOperations(LocalDate.of(2024, APRIL, 1), LocalDate.of(2024, APRIL, 30), 31));
+  }
+
+  @Test
+  void bornes_incluses_et_jours_invalides() {
+    var au15mars = LocalDate.of(2024, MARCH, 15);
+    assertEquals(1, nbOperations(au15mars, au15mars, 15));
+    assertEquals(0, nbOperations(au15mars, au15mars, 14));
+    assertEquals(0, nbOperations(au15mars, au15mars.minusDays(1), 15));
+    assertEquals(0, nbOperations(au15mars, au15mars.plusYears(1), 0));
+    assertEquals(0, nbOperations(au15mars, au15mars.plusYears(1), 32));
+  }
+
+  @Test
+  void egal_au_parcours_jour_par_jour_sur_fenetres_aleatoires() {
+    var aleatoire = new Random(20240713L);
+    var origine = LocalDate.of(1895, JANUARY, 1);
+
+    for (int i = 0; i < 5_000; i++) {
+      var debut = origine.plusDays(aleatoire.nextInt(80_000));
+      var fin = debut.plusDays(aleatoire.nextInt(1_500) - 30);
+      var jourOperation = aleatoire.nextInt(33);
+
+      assertEquals(
+          nbOperationsParParcours(debut, fin, jourOperation),
+          nbOperations(debut, fin, jourOperation),
+          debut + " -> " + fin + " le " + jourOperation);
+    }
+  }
+
+  @Test
+  void egal_au_parcours_jour_par_jour_pour_les_annees_negatives() {
+    var aleatoire = new Random(1L);
+    var origine = LocalDate.of(-3, JANUARY, 1);
+
+    for (int i = 0; i < 500; i++) {
+      var debut = origine.plusDays(aleatoire.nextInt(3_000));
+      var fin = debut.plusDays(aleatoire.nextInt(800));
+      var jourOperation = 28 + aleatoire.nextInt(4);
+
+      assertEquals(
+          nbOperationsParParcours(debut, fin, jourOperation),
+          nbOperations(debut, fin, jourOperation),
+          debut + " -> " + fin + " le " + jourOperation);
+    }
+  }
+}
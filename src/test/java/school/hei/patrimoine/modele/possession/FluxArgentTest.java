@@ -50,4 +50,30 @@ class FluxArgentTest {
     assertEquals(
         -2_900_000, compteCourant.projectionFuture(aLaDiplomation.plusDays(100)).valeurComptable);
   }
+
+  @Test
+  void variation_future_egale_celle_de_l_argent_projete_par_le_flux() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var compteCourant = new Argent("Compte courant", au13mai24, 600_000);
+    var salaire =
+        new FluxArgent(
+            "Salaire",
+            compteCourant,
+            au13mai24.minusDays(10),
+            au13mai24.plusDays(200),
+            250_000,
+            31);
+
+    for (var date = au13mai24.minusDays(30);
+        date.isBefore(au13mai24.plusDays(300));
+        date = date.plusDays(1)) {
+      var projection = salaire.projectionFuture(date, FluxArgent::nbOperations);
+      assertEquals(
+          projection.getArgent().getValeurComptable() - compteCourant.getValeurComptable(),
+          salaire.variationFuture(date, FluxArgent::nbOperations),
+          date.toString());
+    }
+    assertEquals(
+        4 * 250_000, salaire.variationFuture(au13mai24.plusDays(300), FluxArgent::nbOperations));
+  }
 }
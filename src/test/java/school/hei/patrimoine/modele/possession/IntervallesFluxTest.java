@@ -0,0 +1,72 @@
+package school.hei.patrimoine.modele.possession;
+
+import static java.time.Month.JANUARY;
+import static java.time.Month.MAY;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class IntervallesFluxTest {
+  private static final LocalDate AU_1ER_JANVIER_2024 = LocalDate.of(2024, JANUARY, 1);
+
+  private static Set<FluxArgent> actifsParParcours(Argent argent, LocalDate debut, LocalDate fin) {
+    return argent.getFluxArgents().stream()
+        .filter(f -> !f.getDebut().isAfter(fin) && !f.getFin().isBefore(debut))
+        .filter(f -> !f.getDebut().isAfter(f.getFin()))
+        .collect(toSet());
+  }
+
+  private static Set<FluxArgent> sansDoublon(List<FluxArgent> flux) {
+    var ensemble = new HashSet<>(flux);
+    assertEquals(flux.size(), ensemble.size());
+    return ensemble;
+  }
+
+  @Test
+  void requetes_egales_au_parcours_de_tous_les_flux() {
+    var aleatoire = new Random(14L);
+    var compte = new Argent("Compte courant", AU_1ER_JANVIER_2024, 1_000_000);
+    for (int i = 0; i < 300; i++) {
+      var debut = AU_1ER_JANVIER_2024.plusDays(aleatoire.nextInt(2_000));
+      new FluxArgent(
+          "Flux " + i,
+          compte,
+          debut,
+          debut.plusDays(aleatoire.nextInt(400) - 20),
+          aleatoire.nextInt(20_000) - 10_000,
+          1 + aleatoire.nextInt(28));
+
+      if (i % 50 == 0) {
+        var date = AU_1ER_JANVIER_2024.plusDays(aleatoire.nextInt(2_000));
+        assertEquals(actifsParParcours(compte, date, date), sansDoublon(compte.fluxActifsLe(date)));
+      }
+    }
+
+    for (int i = 0; i < 500; i++) {
+      var debut = AU_1ER_JANVIER_2024.plusDays(aleatoire.nextInt(2_500) - 200);
+      var fin = debut.plusDays(aleatoire.nextInt(300));
+      assertEquals(
+          actifsParParcours(compte, debut, debut), sansDoublon(compte.fluxActifsLe(debut)));
+      assertEquals(
+          actifsParParcours(compte, debut, fin), sansDoublon(compte.fluxActifsEntre(debut, fin)));
+    }
+  }
+
+  @Test
+  void periode_inversee_ou_compte_sans_flux_n_a_aucun_flux_actif() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var compte = new Argent("Compte courant", au13mai24, 1_000);
+
+    assertTrue(compte.fluxActifsLe(au13mai24).isEmpty());
+    new FluxArgent("Salaire", compte, au13mai24, au13mai24.plusYears(1), 100, 1);
+    assertEquals(1, compte.fluxActifsLe(au13mai24.plusDays(10)).size());
+    assertTrue(compte.fluxActifsEntre(au13mai24.plusDays(10), au13mai24).isEmpty());
+  }
+}
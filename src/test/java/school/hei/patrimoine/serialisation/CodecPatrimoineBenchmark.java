@@ -0,0 +1,43 @@
+package school.hei.patrimoine.serialisation;
+
+import static school.hei.patrimoine.Chronometre.meilleurTempsMs;
+import static school.hei.patrimoine.serialisation.CodecPatrimoineTest.octets;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.modele.Patrimoine;
+
+/* Hors de la convention *Test de surefire : à lancer à la main. */
+@Slf4j
+class CodecPatrimoineBenchmark {
+  private static final int ITERATIONS = 20;
+
+  @Test
+  void mesure_aller_retour_par_rapport_a_la_serialisation_java() throws IOException {
+    var patrimoine = new PatrimoineNombreuxFluxCas(15, 30, 7).get();
+    var codec = new CodecPatrimoine();
+    var codecJava = new CodecJava<Patrimoine>();
+
+    var compactMs = meilleurTempsMs(ITERATIONS, () -> allerRetour(codec, patrimoine));
+    var javaMs = meilleurTempsMs(ITERATIONS, () -> allerRetour(codecJava, patrimoine));
+
+    log.info(
+        "binaire : {} octets, {} ms ; Java : {} octets, {} ms",
+        octets(codec, patrimoine).length,
+        compactMs,
+        octets(codecJava, patrimoine).length,
+        javaMs);
+  }
+
+  private static Patrimoine allerRetour(Codec<Patrimoine> codec, Patrimoine patrimoine) {
+    try {
+      return codec.lit(new ByteArrayInputStream(octets(codec, patrimoine)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package school.hei.patrimoine.serialisation;
+
+import static java.time.Month.MAY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static school.hei.patrimoine.serialisation.Binaire.ecritChaine;
+import static school.hei.patrimoine.serialisation.Binaire.ecritDate;
+import static school.hei.patrimoine.serialisation.Binaire.ecritEntier;
+import static school.hei.patrimoine.serialisation.Binaire.ecritTaille;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
+import school.hei.patrimoine.cas.PatrimoineRichePireCas;
+import school.hei.patrimoine.cas.zety.PatrimoineZetyAu3Juillet2024;
+import school.hei.patrimoine.modele.Patrimoine;
+import school.hei.patrimoine.modele.Personne;
+import school.hei.patrimoine.modele.evolution.SeriesJournalieres;
+import school.hei.patrimoine.modele.possession.AchatMaterielAuComptant;
+import school.hei.patrimoine.modele.possession.Argent;
+import school.hei.patrimoine.modele.possession.Dette;
+import school.hei.patrimoine.modele.possession.FluxArgent;
+import school.hei.patrimoine.modele.possession.GroupePossession;
+import school.hei.patrimoine.modele.possession.TransfertArgent;
+
+class CodecPatrimoineTest {
+  private final CodecPatrimoine codec = new CodecPatrimoine();
+
+  static Stream<Supplier<Patrimoine>> cas() {
+    return Stream.of(
+        new PatrimoineZetyAu3Juillet2024(),
+        new PatrimoineRichePireCas(),
+        new PatrimoineNombreuxFluxCas(15, 10, 7),
+        CodecPatrimoineTest::toutesLesPossessions);
+  }
+
+  private static Patrimoine toutesLesPossessions() {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var compte = new Argent("BNI", au13mai24.minusDays(10), au13mai24, 500_000);
+    var epargne = new Argent("Epargne", au13mai24, 1_000);
+    var dette = new Dette("Prêt", au13mai24, -200_000);
+    var salaire = new FluxArgent("Salaire", compte, au13mai24, au13mai24.plusYears(1), 300_000, 5);
+    var achat = new AchatMaterielAuComptant("Vélo", au13mai24.plusDays(3), 150_000, -0.2, compte);
+    var transfert =
+        new TransfertArgent(
+            "Virement", compte, epargne, au13mai24, au13mai24.plusMonths(6), 20_000, 28);
+    var remboursement = new TransfertArgent("Remboursement", compte, dette, au13mai24, 50_000);
+    var groupe =
+        new GroupePossession(
+            "Train de vie",
+            au13mai24,
+            Set.of(
+                new FluxArgent("Loyer", compte, au13mai24, au13mai24.plusYears(1), -100_000, 1),
+                new FluxArgent("Courses", compte, au13mai24, au13mai24.plusYears(1), -50_000, 7)));
+    return new Patrimoine(
+        "Toutes",
+        new Personne("Ilo"),
+        au13mai24,
+        Set.of(compte, epargne, dette, salaire, achat, transfert, remboursement, groupe));
+  }
+
+  @ParameterizedTest
+  @MethodSource("cas")
+  void relit_le_meme_patrimoine_qui_evolue_pareil(Supplier<Patrimoine> cas) throws IOException {
+    var patrimoine = cas.get();
+
+    var relu = relit(patrimoine);
+
+    assertEquals(patrimoine, relu);
+    var debut = patrimoine.t();
+    var fin = debut.plusYears(2);
+    assertArrayEquals(
+        SeriesJournalieres.simule(patrimoine, debut, fin).totaux(),
+        SeriesJournalieres.simule(relu, debut, fin).totaux());
+  }
+
+  @Test
+  void partage_l_argent_entre_flux_et_composites() throws IOException {
+    var relu = relit(toutesLesPossessions());
+
+    var compte = (Argent) relu.possessionParNom("BNI");
+    assertSame(compte, ((FluxArgent) relu.possessionParNom("Salaire")).getArgent());
+    assertEquals(6, compte.getFluxArgents().size());
+    assertTrue(compte.getFluxArgents().stream().allMatch(f -> f.getArgent() == compte));
+  }
+
+  @Test
+  void est_plus_compact_que_la_serialisation_java() throws IOException {
+    var patrimoine = new PatrimoineNombreuxFluxCas(15, 30, 7).get();
+    var codecJava = new CodecJava<Patrimoine>();
+
+    var compact = octets(codec, patrimoine);
+    var java = octets(codecJava, patrimoine);
+
+    assertTrue(
+        compact.length * 2 < java.length,
+        "binaire : " + compact.length + " octets, Java : " + java.length + " octets");
+  }
+
+  @Test
+  void saute_les_champs_ajoutes_par_une_version_ulterieure() throws IOException {
+    var au13mai24 = LocalDate.of(2024, MAY, 13);
+    var octets = new ByteArrayOutputStream();
+    var sortie = new DataOutputStream(octets);
+    sortie.writeInt(CodecPatrimoine.MAGIQUE);
+    ecritTaille(sortie, CodecPatrimoine.VERSION);
+    ecritChaine(sortie, "Ilo");
+    ecritChaine(sortie, "Futur");
+    ecritDate(sortie, au13mai24);
+    ecritTaille(sortie, 1);
+    ecritChaine(sortie, "ARIARY");
+    ecritEntier(sortie, 1);
+    ecritDate(sortie, LocalDate.MIN);
+    sortie.writeDouble(0.0);
+    ecritTaille(sortie, 1);
+    var charge = new ByteArrayOutputStream();
+    var champs = new DataOutputStream(charge);
+    ecritChaine(champs, "Espèces");
+    ecritDate(champs, au13mai24);
+    ecritDate(champs, au13mai24);
+    ecritEntier(champs, 42);
+    ecritTaille(champs, 0);
+    ecritChaine(champs, "champ d'une version ultérieure");
+    sortie.writeByte(CodecPatrimoine.ARGENT);
+    ecritTaille(sortie, charge.size());
+    charge.writeTo(sortie);
+    ecritTaille(sortie, 1);
+    ecritTaille(sortie, 0);
+
+    var relu = codec.lit(new ByteArrayInputStream(octets.toByteArray()));
+
+    assertEquals(42, relu.possessionParNom("Espèces").getValeurComptable());
+  }
+
+  @Test
+  void refuse_une_version_plus_recente() throws IOException {
+    var octets = new ByteArrayOutputStream();
+    var sortie = new DataOutputStream(octets);
+    sortie.writeInt(CodecPatrimoine.MAGIQUE);
+    ecritTaille(sortie, CodecPatrimoine.VERSION + 1);
+
+    assertThrows(
+        IOException.class, () -> codec.lit(new ByteArrayInputStream(octets.toByteArray())));
+  }
+
+  @Test
+  void se_branche_sur_le_serialiseur() {
+    var patrimoine = toutesLesPossessions();
+    var serialiseur = new Serialiseur<>(codec);
+
+    assertEquals(patrimoine, serialiseur.deserialise(serialiseur.serialise(patrimoine)));
+  }
+
+  private Patrimoine relit(Patrimoine patrimoine) throws IOException {
+    return codec.lit(new ByteArrayInputStream(octets(codec, patrimoine)));
+  }
+
+  static byte[] octets(Codec<Patrimoine> codec, Patrimoine patrimoine) throws IOException {
+    var sortie = new ByteArrayOutputStream();
+    codec.ecrit(patrimoine, sortie);
+    return sortie.toByteArray();
+  }
+}
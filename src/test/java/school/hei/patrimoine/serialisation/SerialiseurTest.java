@@ -1,11 +1,22 @@
 package school.hei.patrimoine.serialisation;
 
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static java.time.Month.MAY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import school.hei.patrimoine.cas.PatrimoineNombreuxFluxCas;
 import school.hei.patrimoine.modele.Patrimoine;
 import school.hei.patrimoine.modele.Personne;
 import school.hei.patrimoine.modele.possession.Argent;
@@ -40,4 +51,51 @@ class SerialiseurTest {
     assertEquals( // car Possession::equals est symbolique
         argentDésérialisé, patrimoineIloAu13mai24.possessionParNom("Espèces"));
   }
+
+  @Test
+  void ecrit_et_lit_en_flux() throws IOException {
+    var patrimoine = new PatrimoineNombreuxFluxCas(15, 30, 7).get();
+    var serialiseur = new Serialiseur<>(new CodecPatrimoine());
+    var sortie = new ByteArrayOutputStream();
+
+    serialiseur.ecrit(patrimoine, sortie);
+
+    assertEquals(patrimoine, serialiseur.lit(new ByteArrayInputStream(sortie.toByteArray())));
+  }
+
+  @Test
+  void le_base64_en_flux_est_celui_de_serialise() throws IOException {
+    var patrimoine = new PatrimoineNombreuxFluxCas(5, 5, 3).get();
+    var serialiseur = new Serialiseur<Patrimoine>();
+    var sortie = new ByteArrayOutputStream();
+
+    serialiseur.ecritEnBase64(patrimoine, sortie);
+
+    var serialisé = serialiseur.serialise(patrimoine);
+    assertEquals(serialisé.length(), sortie.size());
+    assertEquals(
+        patrimoine, serialiseur.litEnBase64(new ByteArrayInputStream(sortie.toByteArray())));
+    assertEquals(patrimoine, serialiseur.deserialise(serialisé));
+  }
+
+  @Test
+  void ecrit_et_lit_plusieurs_patrimoines_a_la_suite_dans_un_fichier(@TempDir Path dossier)
+      throws IOException {
+    var grand = new PatrimoineNombreuxFluxCas(15, 30, 7).get();
+    var petit = new PatrimoineNombreuxFluxCas(5, 5, 3).get();
+    var serialiseur = new Serialiseur<>(new CodecPatrimoine());
+    var fichier = dossier.resolve("patrimoines.bin");
+
+    try (var canal = FileChannel.open(fichier, CREATE, WRITE)) {
+      serialiseur.ecrit(grand, canal);
+      serialiseur.ecrit(petit, canal);
+    }
+
+    try (var canal = FileChannel.open(fichier, READ)) {
+      assertEquals(grand, serialiseur.lit(canal));
+      assertTrue(canal.position() < canal.size());
+      assertEquals(petit, serialiseur.lit(canal));
+      assertEquals(canal.size(), canal.position());
+    }
+  }
 }
@@ -2,6 +2,7 @@ package school.hei.patrimoine.visualisation.xchart;
 
 import static java.time.Month.MAY;
 import static java.time.Month.NOVEMBER;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
@@ -60,4 +61,9 @@ class GrapheurEvolutionPatrimoinePatrimoineEtudiantTest {
         areImagesEqual.apply(
             resourceFileGetter.apply("patrimoine-etudiant-sur-quelques-annees.png"), imageGeneree));
   }
+
+  @Test
+  void refuse_de_garder_moins_de_3_points() {
+    assertThrows(IllegalArgumentException.class, () -> new GrapheurEvolutionPatrimoine(2));
+  }
 }